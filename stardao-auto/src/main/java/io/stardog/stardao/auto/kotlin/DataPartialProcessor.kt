@@ -4,11 +4,14 @@ import com.google.auto.service.AutoService
 import com.squareup.kotlinpoet.AnnotationSpec
 import com.squareup.kotlinpoet.*
 import io.stardog.stardao.auto.annotations.DataPartial
+import io.stardog.stardao.auto.processor.FieldDataGenerator
+import io.stardog.stardao.auto.processor.ProcessorException
 import java.io.File
 import javax.annotation.processing.*
 import javax.lang.model.SourceVersion
 import javax.lang.model.element.ElementKind
 import javax.lang.model.element.TypeElement
+import javax.tools.Diagnostic
 import kotlin.reflect.jvm.internal.impl.name.FqName
 import com.squareup.kotlinpoet.ParameterizedTypeName.Companion.parameterizedBy
 import java.util.*
@@ -32,6 +35,7 @@ class DataPartialProcessor: AbstractProcessor() {
             val pack = processingEnv.elementUtils.getPackageOf(it).toString()
             val file = generateClass(className, partialClassName, pack, it as TypeElement)
             writeFile(partialClassName, file)
+            writeFieldData(it)
         }
         return true
     }
@@ -81,6 +85,14 @@ class DataPartialProcessor: AbstractProcessor() {
         return file
     }
 
+    fun writeFieldData(type: TypeElement) {
+        try {
+            FieldDataGenerator(processingEnv).generate(type).writeTo(processingEnv.filer)
+        } catch (e: ProcessorException) {
+            processingEnv.messager.printMessage(Diagnostic.Kind.ERROR, e.message, type)
+        }
+    }
+
     fun writeFile(className: String, file: FileSpec) {
         val kaptKotlinGeneratedDir = processingEnv.options["kapt.kotlin.generated"]
         file.writeTo(File(kaptKotlinGeneratedDir, "$className.kt"))
@@ -114,6 +114,10 @@ public class AutoPartialProcessor extends AbstractProcessor {
 //        System.out.println(javaFile.toString());
 
         writeSourceFile(packageName + "." + generateClassName, javaFile.toString(), type);
+
+        FieldDataGenerator fieldDataGenerator = new FieldDataGenerator(processingEnv);
+        JavaFile fieldDataFile = fieldDataGenerator.generate(type);
+        writeSourceFile(packageName + "." + fieldDataGenerator.toGeneratedClassName(type), fieldDataFile.toString(), type);
     }
 
     protected boolean isGetter(Element method) {
@@ -0,0 +1,240 @@
+package io.stardog.stardao.auto.processor;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.google.common.collect.ImmutableMap;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.TypeSpec;
+import io.stardog.stardao.annotations.Creatable;
+import io.stardog.stardao.annotations.CreatedAt;
+import io.stardog.stardao.annotations.CreatedBy;
+import io.stardog.stardao.annotations.Id;
+import io.stardog.stardao.annotations.StorageName;
+import io.stardog.stardao.annotations.Updatable;
+import io.stardog.stardao.annotations.UpdatedAt;
+import io.stardog.stardao.annotations.UpdatedBy;
+import io.stardog.stardao.core.field.Field;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.core.field.FieldScanner;
+
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates a FieldData_{model} descriptor class for a model type, holding the same FieldData that FieldScanner
+ * would produce by reflection at runtime. AbstractDao picks up the generated descriptor when it is present, which
+ * avoids scanning the model class (and, for Kotlin models, loading kotlin-reflect) when a Dao is constructed.
+ */
+public class FieldDataGenerator {
+    private final ProcessingEnvironment processingEnv;
+
+    public FieldDataGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    /**
+     * Return the name of the descriptor class generated for a type, without the package.
+     * @param type  model type
+     * @return  generated class name
+     */
+    public String toGeneratedClassName(TypeElement type) {
+        String name = type.getSimpleName().toString();
+        Element enclosing = type.getEnclosingElement();
+        while (enclosing.getKind().isClass() || enclosing.getKind().isInterface()) {
+            name = enclosing.getSimpleName() + "_" + name;
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return FieldScanner.GENERATED_CLASS_PREFIX + name;
+    }
+
+    /**
+     * Generate the descriptor class for a model type. Fields and getters are examined in the same order and with the
+     * same rules as FieldScanner.scanAnnotations().
+     * @param type  model type
+     * @return  generated source file
+     */
+    public JavaFile generate(TypeElement type) {
+        Map<String,Element> fields = new LinkedHashMap<>();
+        Map<String,Boolean> optional = new LinkedHashMap<>();
+        Set<String> scannedFields = new HashSet<>();
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() == ElementKind.FIELD) {
+                String fieldName = e.getSimpleName().toString();
+                if (e.getAnnotation(JsonIgnore.class) == null) {
+                    fields.put(fieldName, e);
+                    optional.put(fieldName, isFieldOptional(type, (VariableElement)e));
+                }
+                scannedFields.add(fieldName);
+            }
+        }
+        for (Element e : type.getEnclosedElements()) {
+            if (e.getKind() == ElementKind.METHOD) {
+                String fieldName = toFieldName((ExecutableElement)e);
+                if (fieldName != null && !scannedFields.contains(fieldName) && e.getAnnotation(JsonIgnore.class) == null) {
+                    if (fields.containsKey(fieldName)) {
+                        throw new ProcessorException("Multiple getters present for field " + fieldName, e);
+                    }
+                    fields.put(fieldName, e);
+                    optional.put(fieldName, isOptionalType(((ExecutableElement)e).getReturnType()));
+                }
+            }
+        }
+
+        CodeBlock.Builder init = CodeBlock.builder();
+        CodeBlock.Builder mapBuilder = CodeBlock.builder()
+                .add("$T.<$T,$T>builder()", ImmutableMap.class, String.class, Field.class);
+        Map<Class<? extends Annotation>,String> found = new LinkedHashMap<>();
+        Map<String,String> vars = new LinkedHashMap<>();
+        String idVar = null;
+        int i = 0;
+        for (Map.Entry<String,Element> entry : fields.entrySet()) {
+            String fieldName = entry.getKey();
+            Element e = entry.getValue();
+            String var = "field" + i++;
+            vars.put(fieldName, var);
+            StorageName storageName = e.getAnnotation(StorageName.class);
+            init.addStatement("$T $L = $T.builder().name($S).storageName($S).optional($L).creatable($L).updatable($L).build()",
+                    Field.class, var, Field.class, fieldName,
+                    storageName != null ? storageName.value() : fieldName,
+                    optional.get(fieldName),
+                    e.getAnnotation(Creatable.class) != null,
+                    e.getAnnotation(Updatable.class) != null);
+            mapBuilder.add("\n.put($S, $L)", fieldName, var);
+
+            if (e.getAnnotation(Id.class) != null) {
+                putUnique(found, Id.class, fieldName, e);
+                idVar = var;
+            }
+            // assume that fields named "id" are the id unless it's explicitly specified otherwise
+            if (fieldName.equals("id") && !found.containsKey(Id.class)) {
+                idVar = var;
+            }
+            if (e.getAnnotation(CreatedAt.class) != null) {
+                putUnique(found, CreatedAt.class, fieldName, e);
+            }
+            if (e.getAnnotation(CreatedBy.class) != null) {
+                putUnique(found, CreatedBy.class, fieldName, e);
+            }
+            if (e.getAnnotation(UpdatedAt.class) != null) {
+                putUnique(found, UpdatedAt.class, fieldName, e);
+            }
+            if (e.getAnnotation(UpdatedBy.class) != null) {
+                putUnique(found, UpdatedBy.class, fieldName, e);
+            }
+        }
+        mapBuilder.add("\n.build()");
+
+        CodeBlock.Builder dataBuilder = CodeBlock.builder().add("$T.builder()", FieldData.class);
+        if (idVar != null) {
+            dataBuilder.add("\n.id($L)", idVar);
+        }
+        addSpecialField(dataBuilder, "createdAt", found.get(CreatedAt.class), vars);
+        addSpecialField(dataBuilder, "createdBy", found.get(CreatedBy.class), vars);
+        addSpecialField(dataBuilder, "updatedAt", found.get(UpdatedAt.class), vars);
+        addSpecialField(dataBuilder, "updatedBy", found.get(UpdatedBy.class), vars);
+        dataBuilder.add("\n.map($L)", mapBuilder.build());
+        dataBuilder.add("\n.build()");
+        init.addStatement("return $L", dataBuilder.build());
+
+        String generatedClassName = toGeneratedClassName(type);
+        MethodSpec buildMethod = MethodSpec.methodBuilder("build")
+                .addModifiers(Modifier.PRIVATE, Modifier.STATIC)
+                .returns(FieldData.class)
+                .addCode(init.build())
+                .build();
+        TypeSpec descriptorClass = TypeSpec.classBuilder(generatedClassName)
+                .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                .addJavadoc("Field data for {@link $T}, generated at compile time.\n", ClassName.get(type))
+                .addField(FieldSpec.builder(FieldData.class, FieldScanner.GENERATED_FIELD_NAME,
+                        Modifier.PUBLIC, Modifier.STATIC, Modifier.FINAL)
+                        .initializer("build()")
+                        .build())
+                .addMethod(MethodSpec.constructorBuilder().addModifiers(Modifier.PRIVATE).build())
+                .addMethod(buildMethod)
+                .build();
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).toString();
+        return JavaFile.builder(packageName, descriptorClass).build();
+    }
+
+    private void putUnique(Map<Class<? extends Annotation>,String> found, Class<? extends Annotation> annotation,
+                           String fieldName, Element e) {
+        String prev = found.get(annotation);
+        if (prev != null) {
+            throw new ProcessorException("Multiple @" + annotation.getSimpleName() + " annotations present on "
+                    + prev + " and " + fieldName, e);
+        }
+        found.put(annotation, fieldName);
+    }
+
+    private void addSpecialField(CodeBlock.Builder dataBuilder, String property, String fieldName, Map<String,String> vars) {
+        if (fieldName != null) {
+            dataBuilder.add("\n.$L($L)", property, vars.get(fieldName));
+        }
+    }
+
+    /**
+     * Same rules as FieldScanner.toFieldName(): a no-argument method starting with "get" or "is".
+     */
+    protected String toFieldName(ExecutableElement method) {
+        if (!method.getParameters().isEmpty()) {
+            return null;
+        }
+        String name = method.getSimpleName().toString();
+        String field;
+        if (name.startsWith("get")) {
+            field = name.substring(3);
+        } else if (name.startsWith("is")) {
+            field = name.substring(2);
+        } else {
+            return null;
+        }
+        if (field.isEmpty()) {
+            return null;
+        }
+        return field.substring(0, 1).toLowerCase() + field.substring(1);
+    }
+
+    /**
+     * A field is optional if it is a java or guava Optional, or if it is a nullable Kotlin property (marked with
+     * the JetBrains @Nullable annotation in the stubs that kapt provides to annotation processors).
+     */
+    protected boolean isFieldOptional(TypeElement type, VariableElement field) {
+        if (isKotlin(type) && hasAnnotation(field, "org.jetbrains.annotations.Nullable")) {
+            return true;
+        }
+        return isOptionalType(field.asType());
+    }
+
+    protected boolean isOptionalType(TypeMirror type) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return false;
+        }
+        return ((DeclaredType)type).asElement().getSimpleName().contentEquals("Optional");
+    }
+
+    private boolean isKotlin(TypeElement type) {
+        return hasAnnotation(type, "kotlin.Metadata");
+    }
+
+    private boolean hasAnnotation(Element element, String annotationName) {
+        return element.getAnnotationMirrors().stream()
+                .anyMatch(m -> m.getAnnotationType().toString().equals(annotationName));
+    }
+}
@@ -1,9 +1,13 @@
 package io.stardog.stardao.auto.kotlin
 
+import io.stardog.stardao.core.field.FieldScanner
 import org.junit.Test
 
 import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
 import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
 
 class DataPartialProcessorTest {
     @Test
@@ -11,6 +15,21 @@ class DataPartialProcessorTest {
         val processor = DataPartialProcessor()
 //        processor.generateClass("PartialKotlinUser", "io.stardog.stardao.test")
     }
+
+    @Test
+    fun testGeneratedFieldData() {
+        val generated = FieldData_NullableKotlinUser.FIELD_DATA
+        assertEquals("_id", generated.id!!.storageName)
+        assertFalse(generated.map["name"]!!.isOptional)
+        assertTrue(generated.map["email"]!!.isOptional)
+        assertTrue(generated.map["age"]!!.isOptional)
+        assertEquals("createAt", generated.createdAt!!.name)
+
+        // matches what the reflection-based scanner finds, and is what the scanner loads
+        val scanner = FieldScanner()
+        assertEquals(scanner.scanAnnotations(NullableKotlinUser::class.java), generated)
+        assertSame(generated, scanner.loadGenerated(NullableKotlinUser::class.java))
+    }
 }
 
-data class KotlinUser(val name: String)
\ No newline at end of file
+data class KotlinUser(val name: String)
@@ -0,0 +1,27 @@
+package io.stardog.stardao.auto.kotlin
+
+import io.stardog.stardao.annotations.CreatedAt
+import io.stardog.stardao.annotations.Id
+import io.stardog.stardao.annotations.StorageName
+import io.stardog.stardao.annotations.Updatable
+import io.stardog.stardao.auto.annotations.DataPartial
+import java.time.Instant
+
+@DataPartial
+data class NullableKotlinUser(
+        @Id
+        @StorageName("_id")
+        val id: String,
+
+        @Updatable
+        val name: String,
+
+        @Updatable
+        val email: String?,
+
+        @Updatable
+        val age: Int?,
+
+        @CreatedAt
+        val createAt: Instant?
+)
@@ -2,6 +2,8 @@ package io.stardog.stardao.auto.processor;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.core.field.FieldScanner;
 import io.stardog.stardao.jackson.JsonHelper;
 import org.bson.types.ObjectId;
 import org.junit.Test;
@@ -71,4 +73,17 @@ public class AutoPartialProcessorTest {
         PartialTestUser user = JsonHelper.object("{age:36}", PartialTestUser.class);
         assertEquals(new Integer(36), user.getAge().get());
     }
+
+    @Test
+    public void testGeneratedFieldData() throws Exception {
+        FieldData generated = FieldData_TestUser.FIELD_DATA;
+        assertEquals("id", generated.getId().getName());
+        assertTrue(generated.getMap().get("email").isOptional());
+        assertFalse(generated.getMap().containsKey("ok"));
+
+        // matches what the reflection-based scanner finds, and is what the scanner loads
+        FieldScanner scanner = new FieldScanner();
+        assertEquals(scanner.scanAnnotations(TestUser.class), generated);
+        assertSame(generated, scanner.loadGenerated(TestUser.class));
+    }
 }
@@ -0,0 +1,39 @@
+package io.stardog.stardao.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.google.auto.value.AutoValue;
+
+import javax.annotation.Nullable;
+
+@AutoValue
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize(builder=AutoValue_BenchAddress.Builder.class)
+public abstract class BenchAddress {
+    @Nullable
+    public abstract String getStreet();
+
+    @Nullable
+    public abstract String getCity();
+
+    @Nullable
+    public abstract String getState();
+
+    @Nullable
+    public abstract String getZip();
+
+    public static BenchAddress.Builder builder() {
+        return new AutoValue_BenchAddress.Builder();
+    }
+
+    @AutoValue.Builder
+    @JsonPOJOBuilder(withPrefix = "")
+    public abstract static class Builder {
+        public abstract Builder street(String street);
+        public abstract Builder city(String city);
+        public abstract Builder state(String state);
+        public abstract Builder zip(String zip);
+        public abstract BenchAddress build();
+    }
+}
@@ -0,0 +1,37 @@
+package io.stardog.stardao.benchmarks;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.dynamodb.AbstractDynamoDao;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+public class BenchDynamoDao extends AbstractDynamoDao<BenchModel,BenchModel,UUID,UUID> {
+    public BenchDynamoDao(AmazonDynamoDB db) {
+        super(BenchModel.class, BenchModel.class, db, "bench");
+    }
+
+    @Override
+    public List<KeySchemaElement> getKeySchema() {
+        return Arrays.asList(new KeySchemaElement("id", KeyType.HASH));
+    }
+
+    @Override
+    public List<AttributeDefinition> getAttributeDefinitions() {
+        return Arrays.asList(new AttributeDefinition("id", "S"));
+    }
+
+    /**
+     * Expose the update spec builder to the benchmarks.
+     */
+    public UpdateItemSpec buildUpdateItemSpec(UUID id, Update<BenchModel> update, Instant updateAt, UUID updateBy) {
+        return toUpdateItemSpec(id, update, updateAt, updateBy);
+    }
+}
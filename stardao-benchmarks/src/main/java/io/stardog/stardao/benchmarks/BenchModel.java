@@ -0,0 +1,127 @@
+package io.stardog.stardao.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonPOJOBuilder;
+import com.google.auto.value.AutoValue;
+import io.stardog.stardao.annotations.Creatable;
+import io.stardog.stardao.annotations.CreatedAt;
+import io.stardog.stardao.annotations.CreatedBy;
+import io.stardog.stardao.annotations.Id;
+import io.stardog.stardao.annotations.StorageName;
+import io.stardog.stardao.annotations.Updatable;
+import io.stardog.stardao.annotations.UpdatedAt;
+import io.stardog.stardao.annotations.UpdatedBy;
+
+import javax.annotation.Nullable;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Model used by the benchmarks. Its size is controlled by how many tags, addresses and attributes are filled in;
+ * see BenchModels.
+ */
+@AutoValue
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonDeserialize(builder=AutoValue_BenchModel.Builder.class)
+public abstract class BenchModel {
+    @Nullable
+    @Id
+    public abstract UUID getId();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    public abstract String getName();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    @StorageName("em")
+    public abstract String getEmail();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern="yyyy-MM-dd")
+    public abstract LocalDate getBirthday();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    public abstract Boolean getActive();
+
+    @Nullable
+    @Updatable
+    public abstract Integer getLoginCount();
+
+    @Nullable
+    @Updatable
+    public abstract BigDecimal getBalance();
+
+    @Nullable
+    @Updatable
+    public abstract Instant getLoginAt();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    public abstract List<String> getTags();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    public abstract List<BenchAddress> getAddresses();
+
+    @Nullable
+    @Creatable
+    @Updatable
+    public abstract Map<String,String> getAttributes();
+
+    @Nullable
+    @CreatedBy
+    public abstract UUID getCreateId();
+
+    @Nullable
+    @CreatedAt
+    public abstract Instant getCreateAt();
+
+    @Nullable
+    @UpdatedBy
+    public abstract UUID getUpdateId();
+
+    @Nullable
+    @UpdatedAt
+    public abstract Instant getUpdateAt();
+
+    public abstract Builder toBuilder();
+    public static BenchModel.Builder builder() {
+        return new AutoValue_BenchModel.Builder();
+    }
+
+    @AutoValue.Builder
+    @JsonPOJOBuilder(withPrefix = "")
+    public abstract static class Builder {
+        public abstract Builder id(UUID id);
+        public abstract Builder name(String name);
+        public abstract Builder email(String email);
+        public abstract Builder birthday(LocalDate birthday);
+        public abstract Builder active(Boolean active);
+        public abstract Builder loginCount(Integer loginCount);
+        public abstract Builder balance(BigDecimal balance);
+        public abstract Builder loginAt(Instant loginAt);
+        public abstract Builder tags(List<String> tags);
+        public abstract Builder addresses(List<BenchAddress> addresses);
+        public abstract Builder attributes(Map<String,String> attributes);
+        public abstract Builder createId(UUID id);
+        public abstract Builder createAt(Instant at);
+        public abstract Builder updateId(UUID id);
+        public abstract Builder updateAt(Instant at);
+        public abstract BenchModel build();
+    }
+}
@@ -0,0 +1,109 @@
+package io.stardog.stardao.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.stardog.stardao.core.Update;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * Builds the small, medium and large models shared by the benchmarks. A small model has only scalar fields; medium
+ * and large models add increasingly long lists and maps, which is where the mappers spend most of their time.
+ */
+public class BenchModels {
+    public static final String SMALL = "small";
+    public static final String MEDIUM = "medium";
+    public static final String LARGE = "large";
+
+    private BenchModels() {
+    }
+
+    /**
+     * Number of tags, addresses and attributes in a model of the given size.
+     * @param size  small, medium, or large
+     * @return  number of elements in each collection field
+     */
+    public static int getElementCount(String size) {
+        switch (size) {
+            case SMALL:
+                return 0;
+            case MEDIUM:
+                return 10;
+            case LARGE:
+                return 200;
+            default:
+                throw new IllegalArgumentException("Unknown model size: " + size);
+        }
+    }
+
+    /**
+     * Build a model of the given size, without an id or create/update fields.
+     * @param size  small, medium, or large
+     * @return  model
+     */
+    public static BenchModel partial(String size) {
+        int count = getElementCount(size);
+        BenchModel.Builder builder = BenchModel.builder()
+                .name("Ian White")
+                .email("ian@example.com")
+                .birthday(LocalDate.of(1980, 5, 12))
+                .active(true)
+                .loginCount(42)
+                .balance(new BigDecimal("1234567.89"))
+                .loginAt(Instant.ofEpochMilli(1485116825000L));
+        if (count > 0) {
+            ImmutableList.Builder<String> tags = ImmutableList.builder();
+            ImmutableList.Builder<BenchAddress> addresses = ImmutableList.builder();
+            ImmutableMap.Builder<String,String> attributes = ImmutableMap.builder();
+            for (int i = 0; i < count; i++) {
+                tags.add("tag-" + i);
+                addresses.add(BenchAddress.builder()
+                        .street(i + " Main Street")
+                        .city("Boston")
+                        .state("MA")
+                        .zip(String.format("%05d", i))
+                        .build());
+                attributes.put("key" + i, "value" + i);
+            }
+            builder.tags(tags.build()).addresses(addresses.build()).attributes(attributes.build());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build a complete model of the given size, as it would be stored.
+     * @param size  small, medium, or large
+     * @return  model
+     */
+    public static BenchModel model(String size) {
+        UUID userId = UUID.randomUUID();
+        Instant at = Instant.ofEpochMilli(1485116825000L);
+        return partial(size).toBuilder()
+                .id(UUID.randomUUID())
+                .createId(userId)
+                .createAt(at)
+                .updateId(userId)
+                .updateAt(at)
+                .build();
+    }
+
+    /**
+     * Build an update that sets every updatable field of a model of the given size except the birthday, which it
+     * removes.
+     * @param size  small, medium, or large
+     * @return  update
+     */
+    public static Update<BenchModel> update(String size) {
+        BenchModel partial = partial(size);
+        ImmutableSet.Builder<String> setFields = ImmutableSet.<String>builder()
+                .add("name", "email", "active", "loginCount", "balance", "loginAt");
+        if (partial.getTags() != null) {
+            setFields.add("tags", "addresses", "attributes");
+        }
+        return Update.of(partial.toBuilder().birthday(null).build(), setFields.build(), ImmutableSet.of("birthday"));
+    }
+}
@@ -0,0 +1,27 @@
+package io.stardog.stardao.benchmarks;
+
+import com.mongodb.client.MongoCollection;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.mongodb.AbstractMongoDao;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.UUID;
+
+public class BenchMongoDao extends AbstractMongoDao<BenchModel,BenchModel,UUID,UUID> {
+    public BenchMongoDao(MongoCollection<Document> collection) {
+        super(BenchModel.class, BenchModel.class, collection);
+    }
+
+    @Override
+    protected Object generateId() {
+        return UUID.randomUUID();
+    }
+
+    /**
+     * Expose the update document builder to the benchmarks.
+     */
+    public Document buildUpdateDocument(Update<BenchModel> update, Instant updateAt, UUID updateBy) {
+        return toUpdateDocument(update, updateAt, updateBy);
+    }
+}
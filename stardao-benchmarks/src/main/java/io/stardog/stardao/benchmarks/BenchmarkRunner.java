@@ -0,0 +1,62 @@
+package io.stardog.stardao.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.net.URISyntaxException;
+
+/**
+ * Entry point for the benchmarks jar. Accepts the standard JMH command line options, but writes JSON results to
+ * jmh-result.json by default so that runs can be compared between releases.
+ *
+ * The forked benchmark JVMs are given -Dsqlite4java.library.path pointing at the native-libs directory that the
+ * build copies next to benchmarks.jar, resolved from the jar's own location, so the jar can be run from any working
+ * directory. Passing -jvmArgsAppend replaces this default.
+ *
+ * <pre>
+ * mvn -P benchmarks -pl stardao-benchmarks -am package
+ * java -jar stardao-benchmarks/target/benchmarks.jar [regexp] [-rff results.json]
+ * </pre>
+ */
+public class BenchmarkRunner {
+    public static final String DEFAULT_RESULT_FILE = "jmh-result.json";
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cmdOptions);
+        if (!cmdOptions.getResultFormat().hasValue()) {
+            options = options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cmdOptions.getResult().hasValue()) {
+            options = options.result(DEFAULT_RESULT_FILE);
+        }
+        if (!cmdOptions.getJvmArgsAppend().hasValue()) {
+            options = options.jvmArgsAppend("-Dsqlite4java.library.path=" + getNativeLibraryPath());
+        }
+        new Runner(options.build()).run();
+    }
+
+    /**
+     * Return the sqlite4java native library directory: the sqlite4java.library.path system property if it is set,
+     * otherwise the native-libs directory alongside the jar (or classes directory) this class was loaded from.
+     * @return  absolute path of the native library directory
+     */
+    static String getNativeLibraryPath() {
+        String path = System.getProperty("sqlite4java.library.path");
+        if (path != null) {
+            return new File(path).getAbsolutePath();
+        }
+        try {
+            File location = new File(BenchmarkRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+            return new File(location.getParentFile(), "native-libs").getAbsolutePath();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Unable to locate the benchmarks jar", e);
+        }
+    }
+}
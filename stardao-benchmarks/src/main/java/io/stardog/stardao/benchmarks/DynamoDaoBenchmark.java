@@ -0,0 +1,76 @@
+package io.stardog.stardao.benchmarks;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.local.embedded.DynamoDBEmbedded;
+import io.stardog.stardao.core.Update;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end DynamoDB DAO round-trips against an embedded DynamoDBLocal. Requires the sqlite4java native libraries,
+ * which the build copies to target/native-libs, next to benchmarks.jar. BenchmarkRunner passes their absolute path to
+ * the forked JVM as sqlite4java.library.path; when running through another JMH launcher, pass it yourself, e.g.
+ * -jvmArgsAppend -Dsqlite4java.library.path=/path/to/stardao-benchmarks/target/native-libs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DynamoDaoBenchmark {
+    @Param({BenchModels.SMALL, BenchModels.MEDIUM, BenchModels.LARGE})
+    public String size;
+
+    private AmazonDynamoDB dynamodb;
+    private BenchDynamoDao dao;
+    private BenchModel partial;
+    private Update<BenchModel> update;
+    private UUID existingId;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        dynamodb = DynamoDBEmbedded.create().amazonDynamoDB();
+        dao = new BenchDynamoDao(dynamodb);
+        dao.initTable();
+        partial = BenchModels.partial(size);
+        update = BenchModels.update(size);
+        userId = UUID.randomUUID();
+        existingId = dao.create(partial, userId).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        dynamodb.shutdown();
+    }
+
+    @Benchmark
+    public BenchModel create() {
+        return dao.create(partial, userId);
+    }
+
+    @Benchmark
+    public Optional<BenchModel> load() {
+        return dao.loadOpt(existingId);
+    }
+
+    @Benchmark
+    public void update() {
+        dao.update(existingId, update, userId);
+    }
+}
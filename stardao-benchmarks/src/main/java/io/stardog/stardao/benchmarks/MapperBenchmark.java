@@ -0,0 +1,113 @@
+package io.stardog.stardao.benchmarks;
+
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.mongodb.MongoClient;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.core.field.FieldScanner;
+import io.stardog.stardao.dynamodb.mapper.JacksonItemMapper;
+import io.stardog.stardao.mongodb.mapper.jackson.JacksonDocumentMapper;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks converting models to and from MongoDB documents and DynamoDB items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param({BenchModels.SMALL, BenchModels.MEDIUM, BenchModels.LARGE})
+    public String size;
+
+    private JacksonDocumentMapper<BenchModel> documentMapper;
+    private Codec<BenchModel> codec;
+    private JacksonItemMapper<BenchModel> itemMapper;
+    private BenchModel model;
+    private Document document;
+    private BsonDocument bsonDocument;
+    private Item item;
+    private Map<String,AttributeValue> attributes;
+
+    @Setup
+    public void setUp() {
+        FieldData fieldData = new FieldScanner().scanAnnotations(BenchModel.class);
+        documentMapper = new JacksonDocumentMapper<>(BenchModel.class, fieldData);
+        codec = documentMapper.toCodec(MongoClient.getDefaultCodecRegistry());
+        itemMapper = new JacksonItemMapper<>(BenchModel.class, fieldData);
+
+        model = BenchModels.model(size);
+        document = documentMapper.toDocument(model);
+        bsonDocument = encodeBson();
+        item = itemMapper.toItem(model);
+        attributes = itemMapper.toAttributeValues(model);
+    }
+
+    @Benchmark
+    public Document mongoToDocument() {
+        return documentMapper.toDocument(model);
+    }
+
+    @Benchmark
+    public BenchModel mongoToObject() {
+        return documentMapper.toObject(document);
+    }
+
+    @Benchmark
+    public BsonDocument mongoCodecEncode() {
+        return encodeBson();
+    }
+
+    @Benchmark
+    public BenchModel mongoCodecDecode() {
+        return codec.decode(new BsonDocumentReader(bsonDocument), DecoderContext.builder().build());
+    }
+
+    @Benchmark
+    public Item dynamoToItem() {
+        return itemMapper.toItem(model);
+    }
+
+    @Benchmark
+    public BenchModel dynamoToObject() {
+        return itemMapper.toObject(item);
+    }
+
+    @Benchmark
+    public Map<String,AttributeValue> dynamoToAttributeValues() {
+        return itemMapper.toAttributeValues(model);
+    }
+
+    @Benchmark
+    public BenchModel dynamoAttributeValuesToObject() {
+        return itemMapper.toObject(attributes);
+    }
+
+    private BsonDocument encodeBson() {
+        BsonDocument bson = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(bson), model, EncoderContext.builder().build());
+        return bson;
+    }
+}
@@ -0,0 +1,64 @@
+package io.stardog.stardao.benchmarks;
+
+import com.github.fakemongo.Fongo;
+import io.stardog.stardao.core.Update;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end MongoDB DAO round-trips against an in-memory fongo database. Fongo's own overhead is included, so these
+ * numbers are only meaningful relative to each other and to earlier runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MongoDaoBenchmark {
+    @Param({BenchModels.SMALL, BenchModels.MEDIUM, BenchModels.LARGE})
+    public String size;
+
+    private BenchMongoDao dao;
+    private BenchModel partial;
+    private Update<BenchModel> update;
+    private UUID existingId;
+    private UUID userId;
+
+    @Setup
+    public void setUp() {
+        dao = new BenchMongoDao(new Fongo("bench").getMongo().getDatabase("bench").getCollection("bench"));
+        partial = BenchModels.partial(size);
+        update = BenchModels.update(size);
+        userId = UUID.randomUUID();
+        existingId = dao.create(partial, userId).getId();
+    }
+
+    @Benchmark
+    public BenchModel create() {
+        return dao.create(partial, userId);
+    }
+
+    @Benchmark
+    public Optional<BenchModel> load() {
+        return dao.loadOpt(existingId);
+    }
+
+    @Benchmark
+    public void update() {
+        dao.update(existingId, update, userId);
+    }
+}
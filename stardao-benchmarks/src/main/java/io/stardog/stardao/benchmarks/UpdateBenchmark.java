@@ -0,0 +1,99 @@
+package io.stardog.stardao.benchmarks;
+
+import com.amazonaws.auth.AWSStaticCredentialsProvider;
+import com.amazonaws.auth.BasicAWSCredentials;
+import com.amazonaws.client.builder.AwsClientBuilder;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBClientBuilder;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.fakemongo.Fongo;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.core.field.FieldScanner;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks building MongoDB and DynamoDB updates, deserializing updates from JSON, and scanning model annotations.
+ * No database calls are made.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UpdateBenchmark {
+    @Param({BenchModels.SMALL, BenchModels.MEDIUM, BenchModels.LARGE})
+    public String size;
+
+    private BenchMongoDao mongoDao;
+    private BenchDynamoDao dynamoDao;
+    private ObjectMapper objectMapper;
+    private Update<BenchModel> update;
+    private String updateJson;
+    private UUID id;
+    private UUID userId;
+    private Instant at;
+
+    @Setup
+    public void setUp() throws IOException {
+        mongoDao = new BenchMongoDao(new Fongo("bench").getMongo().getDatabase("bench").getCollection("bench"));
+        // the update spec is built locally, so the client never connects
+        AmazonDynamoDB client = AmazonDynamoDBClientBuilder.standard()
+                .withEndpointConfiguration(new AwsClientBuilder.EndpointConfiguration("http://localhost:8000", "us-east-1"))
+                .withCredentials(new AWSStaticCredentialsProvider(new BasicAWSCredentials("bench", "bench")))
+                .build();
+        dynamoDao = new BenchDynamoDao(client);
+        objectMapper = new ObjectMapper()
+                .configure(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS, false)
+                .registerModule(new JavaTimeModule())
+                .registerModule(new Jdk8Module());
+
+        update = BenchModels.update(size);
+        updateJson = objectMapper.writeValueAsString(update);
+        id = UUID.randomUUID();
+        userId = UUID.randomUUID();
+        at = Instant.now();
+    }
+
+    @Benchmark
+    public Document mongoToUpdateDocument() {
+        return mongoDao.buildUpdateDocument(update, at, userId);
+    }
+
+    @Benchmark
+    public UpdateItemSpec dynamoToUpdateItemSpec() {
+        return dynamoDao.buildUpdateItemSpec(id, update, at, userId);
+    }
+
+    @Benchmark
+    public Update<BenchModel> deserializeUpdate() throws IOException {
+        return objectMapper.readValue(updateJson, new TypeReference<Update<BenchModel>>() {});
+    }
+
+    @Benchmark
+    public FieldData scanAnnotations() {
+        return new FieldScanner().scanAnnotations(BenchModel.class);
+    }
+}
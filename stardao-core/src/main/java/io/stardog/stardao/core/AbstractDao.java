@@ -1,16 +1,25 @@
 package io.stardog.stardao.core;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.core.field.FieldScanner;
 import io.stardog.stardao.exceptions.DataNotFoundException;
 
 import java.time.Instant;
+import java.util.AbstractMap;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
     private final Class<M> modelClass;
     private final Class<P> partialClass;
     private final FieldData fieldData;
+    private volatile LoadCoalescer loadCoalescer;
 
     public AbstractDao(Class<M> modelClass, Class<P> partialClass) {
         this.modelClass = modelClass;
@@ -18,8 +27,15 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
         this.fieldData = generateFieldData();
     }
 
+    /**
+     * Determine the field data for the model class. A descriptor generated at compile time by the stardao-auto
+     * annotation processors is used if present; otherwise the model class is scanned via reflection.
+     * @return  field data for the model class
+     */
     protected FieldData generateFieldData() {
-        return new FieldScanner().scanAnnotations(modelClass);
+        FieldScanner scanner = new FieldScanner();
+        FieldData generated = scanner.loadGenerated(modelClass);
+        return generated != null ? generated : scanner.scanAnnotations(modelClass);
     }
 
     @Override
@@ -40,6 +56,54 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
         return getModelClass().getSimpleName();
     }
 
+    /**
+     * Enable or disable coalescing of concurrent loads. When enabled, concurrent calls to loadOpt() for the same id
+     * (and the same set of fields, for partial loads) share a single backend call. Disabled by default.
+     * @param coalesceLoads true to enable coalescing
+     */
+    public void setCoalesceLoads(boolean coalesceLoads) {
+        this.loadCoalescer = coalesceLoads ? new LoadCoalescer() : null;
+    }
+
+    /**
+     * Return the load coalescer, which tracks how many loads were collapsed.
+     * @return  the load coalescer, or empty if coalescing is disabled
+     */
+    public Optional<LoadCoalescer> getLoadCoalescer() {
+        return Optional.ofNullable(loadCoalescer);
+    }
+
+    /**
+     * Run a load of an entire object, sharing the backend call with any concurrent load of the same id if
+     * coalescing is enabled. Implementations of loadOpt() should wrap their backend call in this method.
+     * @param id    primary key value
+     * @param loader    function performing the backend call
+     * @return  model object, if found
+     */
+    protected Optional<M> coalesceLoad(K id, Supplier<Optional<M>> loader) {
+        LoadCoalescer coalescer = loadCoalescer;
+        if (coalescer == null) {
+            return loader.get();
+        }
+        return coalescer.load(new AbstractMap.SimpleImmutableEntry<>(id, null), loader);
+    }
+
+    /**
+     * Run a load of a partial object, sharing the backend call with any concurrent load of the same id and fields
+     * if coalescing is enabled.
+     * @param id    primary key value
+     * @param fields    set of fields to return
+     * @param loader    function performing the backend call
+     * @return  partial object, if found
+     */
+    protected Optional<P> coalesceLoad(K id, Iterable<String> fields, Supplier<Optional<P>> loader) {
+        LoadCoalescer coalescer = loadCoalescer;
+        if (coalescer == null) {
+            return loader.get();
+        }
+        return coalescer.load(new AbstractMap.SimpleImmutableEntry<>(id, ImmutableSet.copyOf(fields)), loader);
+    }
+
     @Override
     public M load(K id) {
         return loadOpt(id)
@@ -53,6 +117,20 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
 
     public abstract Optional<P> loadOpt(K id, Iterable<String> fields);
 
+    /**
+     * Load multiple partial objects by primary key, returning only the requested fields.
+     * @param ids   primary key values
+     * @param fields    set of fields to return
+     * @return  map of primary key to partial object, in the order the ids were given; ids not found are omitted
+     */
+    public Map<K,P> loadMany(Collection<K> ids, Iterable<String> fields) {
+        Map<K,P> results = new LinkedHashMap<>();
+        for (K id : ids) {
+            loadOpt(id, fields).ifPresent(partial -> results.put(id, partial));
+        }
+        return results;
+    }
+
     public M create(P partial) {
         return create(partial, Instant.now(), null);
     }
@@ -67,6 +145,35 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
 
     public abstract M create(P partial, Instant createAt, I createBy);
 
+    /**
+     * Create multiple objects
+     * @param partials  objects to create
+     * @return  one result per object, in order, containing the created object
+     */
+    public List<WriteResult<M>> createAll(Iterable<P> partials) {
+        return createAll(partials, Instant.now(), null);
+    }
+
+    /**
+     * Create multiple objects. The default implementation creates each object individually; subclasses should
+     * override it with a batched write when the backend supports one.
+     * @param partials  objects to create
+     * @param createAt  timestamp of the creation
+     * @param createBy  user id of the creator
+     * @return  one result per object, in order, containing the created object
+     */
+    public List<WriteResult<M>> createAll(Iterable<P> partials, Instant createAt, I createBy) {
+        ImmutableList.Builder<WriteResult<M>> results = ImmutableList.builder();
+        for (P partial : partials) {
+            try {
+                results.add(WriteResult.success(create(partial, createAt, createBy)));
+            } catch (RuntimeException e) {
+                results.add(WriteResult.failure(null, e.toString()));
+            }
+        }
+        return results.build();
+    }
+
     /**
      * Update an object
      * @param id    id of the object to update
@@ -105,6 +212,36 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
      */
     public abstract void update(K id, Update<P> update, Instant updateAt, I updateBy);
 
+    /**
+     * Update multiple objects
+     * @param updates   map of object id to update data
+     * @return  one result per update, in order, containing the id of the object
+     */
+    public List<WriteResult<K>> updateAll(Map<K,Update<P>> updates) {
+        return updateAll(updates, Instant.now(), null);
+    }
+
+    /**
+     * Update multiple objects. The default implementation updates each object individually; subclasses should
+     * override it with a batched write when the backend supports one.
+     * @param updates   map of object id to update data
+     * @param updateAt    timestamp of the update
+     * @param updateBy    user id of the user who performed the update
+     * @return  one result per update, in order, containing the id of the object
+     */
+    public List<WriteResult<K>> updateAll(Map<K,Update<P>> updates, Instant updateAt, I updateBy) {
+        ImmutableList.Builder<WriteResult<K>> results = ImmutableList.builder();
+        for (Map.Entry<K,Update<P>> e : updates.entrySet()) {
+            try {
+                update(e.getKey(), e.getValue(), updateAt, updateBy);
+                results.add(WriteResult.success(e.getKey()));
+            } catch (RuntimeException ex) {
+                results.add(WriteResult.failure(e.getKey(), ex.toString()));
+            }
+        }
+        return results.build();
+    }
+
     @Override
     public M updateAndReturn(K id, Update<P> update) {
         return updateAndReturn(id, update, Instant.now(), null);
@@ -142,6 +279,25 @@ public abstract class AbstractDao<M,P,K,I> implements Dao<M,P,K> {
      */
     public abstract M updateAndReturn(K id, Update<P> update, Instant updateAt, I updateBy);
 
+    /**
+     * Delete multiple objects by id. The default implementation deletes each object individually; subclasses should
+     * override it with a batched write when the backend supports one.
+     * @param ids   ids of the objects to delete
+     * @return  one result per id, in order
+     */
+    public List<WriteResult<K>> deleteAll(Collection<K> ids) {
+        ImmutableList.Builder<WriteResult<K>> results = ImmutableList.builder();
+        for (K id : ids) {
+            try {
+                delete(id);
+                results.add(WriteResult.success(id));
+            } catch (RuntimeException e) {
+                results.add(WriteResult.failure(id, e.toString()));
+            }
+        }
+        return results.build();
+    }
+
     /**
      * Drop the backing table and re-initialize. Useful as a shortcut for tests.
      */
@@ -0,0 +1,55 @@
+package io.stardog.stardao.core;
+
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking counterpart to {@link Dao}. Every operation returns immediately with a future that completes when
+ * the database call does.
+ */
+public interface AsyncDao<M,P,K> {
+    /**
+     * Load an object by its primary key. The future completes exceptionally with a DataNotFoundException if the
+     * object is not found.
+     * @param id    primary key value
+     * @return  future of model object
+     */
+    public CompletableFuture<M> load(K id);
+
+    /**
+     * Load an object by its primary key, returning an absent optional if it is not found.
+     * @param id    primary key value
+     * @return  future of optional of model object
+     */
+    public CompletableFuture<Optional<M>> loadOpt(K id);
+
+    /**
+     * Create a new object
+     * @param model object data
+     * @return  future of the newly created object
+     */
+    public CompletableFuture<M> create(P model);
+
+    /**
+     * Update some fields of an existing object by id
+     * @param id    id of the object to update
+     * @param update    update data
+     * @return  future that completes when the update is done
+     */
+    public CompletableFuture<Void> update(K id, Update<P> update);
+
+    /**
+     * Update an object and return the state of the object prior to modification
+     * @param id    id of the object to update
+     * @param update    update data
+     * @return  future of the state of the object prior to modification
+     */
+    public CompletableFuture<M> updateAndReturn(K id, Update<P> update);
+
+    /**
+     * Delete an object by id
+     * @param id    id of the object to delete
+     * @return  future that completes when the delete is done
+     */
+    public CompletableFuture<Void> delete(K id);
+}
@@ -0,0 +1,379 @@
+package io.stardog.stardao.core;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableSet;
+import io.stardog.stardao.exceptions.DataNotFoundException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * A read-through caching wrapper around a Dao. Loads by id (whole objects and partial projections) are served from
+ * a bounded in-process cache with size-based and time-based eviction. Writes made through this wrapper invalidate
+ * the affected cache entries; writes made directly against the underlying Dao (or by other processes) will not be
+ * seen until the entry expires.
+ *
+ * <p>Each id maps to a generation counter that is bumped whenever its entries are invalidated. A value read from the
+ * underlying Dao is only kept in the cache if the generation of its id did not change while it was being loaded, so a
+ * load that races with a write can never put back data that the write invalidated.</p>
+ */
+public class CachingDao<M,P,K,I> implements Dao<M,P,K> {
+    private static final int GENERATION_STRIPES = 64;
+    private final AbstractDao<M,P,K,I> dao;
+    private final boolean cacheMisses;
+    private final Function<M,K> idFunction;
+    private final Cache<K,Optional<M>> modelCache;
+    private final Cache<K,Map<Set<String>,Optional<P>>> partialCache;
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+
+    /**
+     * Wrap a Dao in a cache. Misses are not cached.
+     * @param dao   underlying Dao
+     * @param maximumSize   maximum number of ids to cache
+     * @param expireAfterWrite  time after which a cached entry is discarded
+     */
+    public CachingDao(AbstractDao<M,P,K,I> dao, long maximumSize, Duration expireAfterWrite) {
+        this(dao, maximumSize, expireAfterWrite, false, null);
+    }
+
+    /**
+     * Wrap a Dao in a cache.
+     * @param dao   underlying Dao
+     * @param maximumSize   maximum number of ids to cache
+     * @param expireAfterWrite  time after which a cached entry is discarded
+     * @param cacheMisses   whether to cache the absence of an object, so repeated loads of a missing id are not sent
+     *                      to the database
+     * @param idFunction    function returning the id of a model, used to cache newly created objects; may be null,
+     *                      in which case creates only clear cached misses
+     */
+    public CachingDao(AbstractDao<M,P,K,I> dao, long maximumSize, Duration expireAfterWrite, boolean cacheMisses,
+                      Function<M,K> idFunction) {
+        this.dao = dao;
+        this.cacheMisses = cacheMisses;
+        this.idFunction = idFunction;
+        this.modelCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+        this.partialCache = CacheBuilder.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite.toNanos(), TimeUnit.NANOSECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public AbstractDao<M,P,K,I> getDao() {
+        return dao;
+    }
+
+    /**
+     * Number of loads (whole-object and partial) served from the cache.
+     * @return  hit count
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * Number of loads (whole-object and partial) that had to go to the underlying Dao.
+     * @return  miss count
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * Number of entries discarded because of the size limit or expiration. Explicit invalidations are not counted.
+     * @return  eviction count
+     */
+    public long getEvictionCount() {
+        return modelCache.stats().evictionCount() + partialCache.stats().evictionCount();
+    }
+
+    /**
+     * Discard any cached data for an id.
+     * @param id    id of the object
+     */
+    public void invalidate(K id) {
+        nextGeneration(id);
+        modelCache.invalidate(id);
+        partialCache.invalidate(id);
+    }
+
+    /**
+     * Discard any cached data for a collection of ids.
+     * @param ids   ids of the objects
+     */
+    public void invalidateAll(Collection<K> ids) {
+        for (K id : ids) {
+            nextGeneration(id);
+        }
+        modelCache.invalidateAll(ids);
+        partialCache.invalidateAll(ids);
+    }
+
+    /**
+     * Discard all cached data.
+     */
+    public void invalidateAll() {
+        nextGenerationAll();
+        modelCache.invalidateAll();
+        partialCache.invalidateAll();
+    }
+
+    private int generationStripe(K id) {
+        int hash = id.hashCode();
+        return ((hash ^ (hash >>> 16)) & Integer.MAX_VALUE) % GENERATION_STRIPES;
+    }
+
+    private long getGeneration(K id) {
+        return generations.get(generationStripe(id));
+    }
+
+    private void nextGeneration(K id) {
+        generations.incrementAndGet(generationStripe(id));
+    }
+
+    private void nextGenerationAll() {
+        for (int i = 0; i < GENERATION_STRIPES; i++) {
+            generations.incrementAndGet(i);
+        }
+    }
+
+    /**
+     * Cache a whole object loaded from the underlying Dao, unless the id was invalidated since the load started. The
+     * generation is checked again after the put, so an invalidation that lands between the check and the put still
+     * removes the loaded value.
+     */
+    private void putLoaded(K id, long generation, Optional<M> loaded) {
+        if (getGeneration(id) != generation) {
+            return;
+        }
+        modelCache.put(id, loaded);
+        if (getGeneration(id) != generation) {
+            modelCache.asMap().remove(id, loaded);
+        }
+    }
+
+    private void putLoaded(K id, long generation, Set<String> fieldSet, Optional<P> loaded) {
+        if (getGeneration(id) != generation) {
+            return;
+        }
+        Map<Set<String>,Optional<P>> projections = partialCache.asMap().computeIfAbsent(id, k -> new ConcurrentHashMap<>());
+        projections.put(fieldSet, loaded);
+        if (getGeneration(id) != generation) {
+            projections.remove(fieldSet, loaded);
+        }
+    }
+
+    @Override
+    public Class<M> getModelClass() {
+        return dao.getModelClass();
+    }
+
+    @Override
+    public Class<P> getPartialClass() {
+        return dao.getPartialClass();
+    }
+
+    @Override
+    public M load(K id) {
+        return loadOpt(id)
+                .orElseThrow(() -> new DataNotFoundException(dao.getDisplayModelName() + " not found: " + id));
+    }
+
+    @Override
+    public Optional<M> loadOpt(K id) {
+        Optional<M> cached = modelCache.getIfPresent(id);
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long generation = getGeneration(id);
+        Optional<M> loaded = dao.loadOpt(id);
+        if (loaded.isPresent() || cacheMisses) {
+            putLoaded(id, generation, loaded);
+        }
+        return loaded;
+    }
+
+    public P load(K id, Iterable<String> fields) {
+        return loadOpt(id, fields)
+                .orElseThrow(() -> new DataNotFoundException(dao.getDisplayModelName() + " not found: " + id));
+    }
+
+    public Optional<P> loadOpt(K id, Iterable<String> fields) {
+        Set<String> fieldSet = ImmutableSet.copyOf(fields);
+        Map<Set<String>,Optional<P>> projections = partialCache.getIfPresent(id);
+        Optional<P> cached = projections != null ? projections.get(fieldSet) : null;
+        if (cached != null) {
+            hitCount.increment();
+            return cached;
+        }
+        missCount.increment();
+        long generation = getGeneration(id);
+        Optional<P> loaded = dao.loadOpt(id, fieldSet);
+        if (loaded.isPresent() || cacheMisses) {
+            putLoaded(id, generation, fieldSet, loaded);
+        }
+        return loaded;
+    }
+
+    @Override
+    public Map<K,M> loadMany(Collection<K> ids) {
+        Map<K,Optional<M>> cached = modelCache.getAllPresent(ids);
+        List<K> missing = new ArrayList<>();
+        for (K id : ids) {
+            if (!cached.containsKey(id)) {
+                missing.add(id);
+            }
+        }
+        hitCount.add(ids.size() - missing.size());
+        missCount.add(missing.size());
+        long[] missingGenerations = new long[missing.size()];
+        for (int i = 0; i < missing.size(); i++) {
+            missingGenerations[i] = getGeneration(missing.get(i));
+        }
+        Map<K,M> loaded = missing.isEmpty() ? Collections.emptyMap() : dao.loadMany(missing);
+        for (int i = 0; i < missing.size(); i++) {
+            K id = missing.get(i);
+            M model = loaded.get(id);
+            if (model != null || cacheMisses) {
+                putLoaded(id, missingGenerations[i], Optional.ofNullable(model));
+            }
+        }
+
+        Map<K,M> results = new LinkedHashMap<>();
+        for (K id : ids) {
+            Optional<M> model = cached.containsKey(id) ? cached.get(id) : Optional.ofNullable(loaded.get(id));
+            model.ifPresent(m -> results.put(id, m));
+        }
+        return results;
+    }
+
+    @Override
+    public M create(P partial) {
+        return create(partial, Instant.now(), null);
+    }
+
+    public M create(P partial, Instant createAt, I createBy) {
+        M model = dao.create(partial, createAt, createBy);
+        onCreate(model);
+        return model;
+    }
+
+    public List<WriteResult<M>> createAll(Iterable<P> partials, Instant createAt, I createBy) {
+        List<WriteResult<M>> results = dao.createAll(partials, createAt, createBy);
+        for (WriteResult<M> result : results) {
+            if (result.getValue() != null) {
+                onCreate(result.getValue());
+            }
+        }
+        return results;
+    }
+
+    private void onCreate(M model) {
+        if (idFunction != null) {
+            K id = idFunction.apply(model);
+            nextGeneration(id);
+            partialCache.invalidate(id);
+            modelCache.put(id, Optional.of(model));
+        } else if (cacheMisses) {
+            // we can't tell which id was created, so any cached miss might now be stale
+            nextGenerationAll();
+            modelCache.asMap().values().removeIf(value -> !value.isPresent());
+            partialCache.invalidateAll();
+        }
+    }
+
+    @Override
+    public void update(K id, Update<P> update) {
+        update(id, update, Instant.now(), null);
+    }
+
+    public void update(K id, Update<P> update, Instant updateAt, I updateBy) {
+        try {
+            dao.update(id, update, updateAt, updateBy);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    public List<WriteResult<K>> updateAll(Map<K,Update<P>> updates, Instant updateAt, I updateBy) {
+        try {
+            return dao.updateAll(updates, updateAt, updateBy);
+        } finally {
+            invalidateAll(updates.keySet());
+        }
+    }
+
+    @Override
+    public M updateAndReturn(K id, Update<P> update) {
+        return updateAndReturn(id, update, Instant.now(), null);
+    }
+
+    public M updateAndReturn(K id, Update<P> update, Instant updateAt, I updateBy) {
+        try {
+            return dao.updateAndReturn(id, update, updateAt, updateBy);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    @Override
+    public void delete(K id) {
+        try {
+            dao.delete(id);
+        } finally {
+            invalidate(id);
+        }
+    }
+
+    public List<WriteResult<K>> deleteAll(Collection<K> ids) {
+        try {
+            return dao.deleteAll(ids);
+        } finally {
+            invalidateAll(ids);
+        }
+    }
+
+    @Override
+    public Iterable<M> iterateAll() {
+        return dao.iterateAll();
+    }
+
+    @Override
+    public Stream<M> streamAll() {
+        return dao.streamAll();
+    }
+
+    @Override
+    public void initTable() {
+        dao.initTable();
+    }
+
+    @Override
+    public void dropTable() {
+        dao.dropTable();
+        invalidateAll();
+    }
+}
@@ -1,6 +1,11 @@
 package io.stardog.stardao.core;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public interface Dao<M,P,K> {
     /**
@@ -29,6 +34,21 @@ public interface Dao<M,P,K> {
      */
     public Optional<M> loadOpt(K id);
 
+    /**
+     * Load multiple objects by their primary keys. Ids that are not found are omitted from the returned map. The
+     * default implementation loads each object individually; implementations should override it with a batched
+     * query when the backend supports one.
+     * @param ids   primary key values
+     * @return  map of primary key to model object, in the order the ids were given
+     */
+    public default Map<K,M> loadMany(Collection<K> ids) {
+        Map<K,M> results = new LinkedHashMap<>();
+        for (K id : ids) {
+            loadOpt(id).ifPresent(model -> results.put(id, model));
+        }
+        return results;
+    }
+
     /**
      * Create a new object
      * @param model object data
@@ -63,6 +83,16 @@ public interface Dao<M,P,K> {
      */
     public Iterable<M> iterateAll();
 
+    /**
+     * Stream all objects being stored by the Dao. The stream is sequential; call parallel() on it to process the
+     * objects concurrently. It may hold a cursor and a fetch thread open until it is exhausted, so it must always be
+     * closed, e.g. with try-with-resources. The default implementation streams iterateAll().
+     * @return  sequential stream of all objects
+     */
+    public default Stream<M> streamAll() {
+        return StreamSupport.stream(iterateAll().spliterator(), false);
+    }
+
     /**
      * Initialize the backing table(s) for the Dao, adding/removing indexes if necessary.
      * This might lock the database, but it should never be destructive to data.
@@ -0,0 +1,85 @@
+package io.stardog.stardao.core;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into a single backend call. The first caller for a key runs the load on
+ * its own thread; callers that arrive while it is in flight wait for and share its result (or its exception). Once
+ * the load finishes the key is released, so later calls always go to the backend again -- nothing is cached.
+ */
+public class LoadCoalescer {
+    private final ConcurrentMap<Object,CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder loadCount = new LongAdder();
+    private final LongAdder collapsedCount = new LongAdder();
+
+    /**
+     * Run a load, or join an identical one that is already in flight.
+     * @param key   key identifying the load; must implement equals and hashCode
+     * @param loader    function performing the backend call
+     * @param <T>   result type
+     * @return  result of the load
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T load(Object key, Supplier<T> loader) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            collapsedCount.increment();
+            return (T)join(existing);
+        }
+
+        loadCount.increment();
+        try {
+            T result = loader.get();
+            future.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    /**
+     * Number of loads that were sent to the backend.
+     * @return  load count
+     */
+    public long getLoadCount() {
+        return loadCount.sum();
+    }
+
+    /**
+     * Number of loads that were served by joining another caller's in-flight load.
+     * @return  collapsed count
+     */
+    public long getCollapsedCount() {
+        return collapsedCount.sum();
+    }
+
+    /**
+     * Number of loads currently in flight.
+     * @return  in-flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    private static Object join(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException)e.getCause();
+            } else if (e.getCause() instanceof Error) {
+                throw (Error)e.getCause();
+            }
+            throw e;
+        }
+    }
+}
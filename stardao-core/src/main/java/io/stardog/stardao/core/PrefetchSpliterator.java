@@ -0,0 +1,206 @@
+package io.stardog.stardao.core;
+
+import com.google.common.base.Throwables;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * A Spliterator that reads a cursor on a dedicated fetch thread, handing its records over in batches, so that the
+ * consumer works on one batch while the fetch thread reads the next; at most a fixed number of batches are buffered
+ * ahead of the consumers. Each call to trySplit() hands off a whole batch, so if the stream is made parallel the
+ * records are mapped by the fork-join pool.
+ *
+ * Streams built on this spliterator must be closed, which stops the fetch thread and closes the cursor if it is
+ * AutoCloseable. A cursor that has been read to the end is closed automatically.
+ */
+public class PrefetchSpliterator<T> implements Spliterator<T>, AutoCloseable {
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final int DEFAULT_MAX_QUEUED_BATCHES = 4;
+    private static final Object END = new Object();
+
+    private final Supplier<? extends Iterator<T>> cursorSupplier;
+    private final int batchSize;
+    private final BlockingQueue<Object> queue;
+    private final String threadName;
+    private Thread fetchThread;
+    private volatile boolean closed;
+    private List<T> batch;
+    private int batchIndex;
+    private boolean ended;
+
+    /**
+     * @param cursorSupplier    supplier of the cursor, called on the fetch thread when the first record is needed
+     * @param batchSize number of records in each batch
+     * @param maxQueuedBatches  maximum number of batches read ahead of the consumers
+     * @param threadName    name of the fetch thread
+     */
+    public PrefetchSpliterator(Supplier<? extends Iterator<T>> cursorSupplier, int batchSize, int maxQueuedBatches,
+                               String threadName) {
+        if (batchSize < 1 || maxQueuedBatches < 1) {
+            throw new IllegalArgumentException("batchSize and maxQueuedBatches must be at least 1");
+        }
+        this.cursorSupplier = cursorSupplier;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(maxQueuedBatches);
+        this.threadName = threadName;
+    }
+
+    /**
+     * Create a sequential stream that reads a cursor on a fetch thread, using the default batch size and read-ahead.
+     * Call parallel() on the stream to map the records on the fork-join pool.
+     * @param cursorSupplier    supplier of the cursor of raw records
+     * @param mapper    function mapping each raw record to a model object
+     * @param threadName    name of the fetch thread
+     * @param <R>   raw record type
+     * @param <M>   model type
+     * @return  sequential stream of model objects, which must be closed
+     */
+    public static <R,M> Stream<M> stream(Supplier<? extends Iterator<R>> cursorSupplier, Function<? super R,? extends M> mapper,
+                                         String threadName) {
+        PrefetchSpliterator<R> spliterator = new PrefetchSpliterator<>(cursorSupplier, DEFAULT_BATCH_SIZE,
+                DEFAULT_MAX_QUEUED_BATCHES, threadName);
+        return StreamSupport.stream(spliterator, false)
+                .onClose(spliterator::close)
+                .map(mapper);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (batch == null || batchIndex >= batch.size()) {
+            if (!nextBatch()) {
+                return false;
+            }
+        }
+        action.accept(batch.get(batchIndex++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // hand off the rest of the current batch first, so that the split is always a prefix of what remains
+        if (batch != null && batchIndex < batch.size()) {
+            List<T> rest = batch.subList(batchIndex, batch.size());
+            batch = null;
+            return rest.spliterator();
+        }
+        if (!nextBatch()) {
+            return null;
+        }
+        List<T> split = batch;
+        batch = null;
+        return split.spliterator();
+    }
+
+    @Override
+    public long estimateSize() {
+        // the number of records is unknown until the cursor has been read
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    /**
+     * Stop the fetch thread. The cursor is closed by the fetch thread as it exits.
+     */
+    @Override
+    public synchronized void close() {
+        closed = true;
+        if (fetchThread != null) {
+            fetchThread.interrupt();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean nextBatch() {
+        if (ended) {
+            return false;
+        }
+        startFetching();
+        Object next;
+        try {
+            next = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for records", e);
+        }
+        if (next == END) {
+            ended = true;
+            return false;
+        } else if (next instanceof FetchFailure) {
+            ended = true;
+            Throwable cause = ((FetchFailure)next).cause;
+            Throwables.throwIfUnchecked(cause);
+            throw new IllegalStateException(cause);
+        }
+        batch = (List<T>)next;
+        batchIndex = 0;
+        return true;
+    }
+
+    private synchronized void startFetching() {
+        if (fetchThread != null) {
+            return;
+        }
+        if (closed) {
+            throw new IllegalStateException("Stream has been closed");
+        }
+        fetchThread = new Thread(this::fetch, threadName);
+        fetchThread.setDaemon(true);
+        fetchThread.start();
+    }
+
+    private void fetch() {
+        Iterator<T> cursor = null;
+        try {
+            Object outcome = END;
+            try {
+                cursor = cursorSupplier.get();
+                List<T> records = new ArrayList<>(batchSize);
+                while (!closed && cursor.hasNext()) {
+                    records.add(cursor.next());
+                    if (records.size() == batchSize) {
+                        queue.put(records);
+                        records = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!records.isEmpty()) {
+                    queue.put(records);
+                }
+            } catch (RuntimeException | Error e) {
+                outcome = new FetchFailure(e);
+            }
+            queue.put(outcome);
+        } catch (InterruptedException e) {
+            // the stream has been closed
+        } finally {
+            if (cursor instanceof AutoCloseable) {
+                try {
+                    ((AutoCloseable)cursor).close();
+                } catch (Exception e) {
+                    // nothing more can be read from a cursor that failed to close
+                }
+            }
+        }
+    }
+
+    private static class FetchFailure {
+        private final Throwable cause;
+
+        private FetchFailure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
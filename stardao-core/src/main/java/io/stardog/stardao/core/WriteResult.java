@@ -0,0 +1,31 @@
+package io.stardog.stardao.core;
+
+import com.google.auto.value.AutoValue;
+
+import javax.annotation.Nullable;
+import java.util.Optional;
+
+/**
+ * The outcome of writing a single item as part of a bulk operation. Bulk operations return one result per input
+ * item, in input order, so that failed items can be picked out and retried.
+ * @param <T>   the value identifying the item written (the created model, or the id of an updated/deleted object)
+ */
+@AutoValue
+public abstract class WriteResult<T> {
+    @Nullable
+    public abstract T getValue();
+
+    public abstract Optional<String> getError();
+
+    public boolean isSuccess() {
+        return !getError().isPresent();
+    }
+
+    public static <T> WriteResult<T> success(T value) {
+        return new AutoValue_WriteResult<>(value, Optional.empty());
+    }
+
+    public static <T> WriteResult<T> failure(T value, String error) {
+        return new AutoValue_WriteResult<>(value, Optional.of(error));
+    }
+}
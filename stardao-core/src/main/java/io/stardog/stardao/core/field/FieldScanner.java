@@ -16,6 +16,33 @@ import java.util.Map;
 import java.util.Set;
 
 public class FieldScanner {
+    /** Prefix of the descriptor class generated at compile time by the stardao-auto annotation processors. */
+    public static final String GENERATED_CLASS_PREFIX = "FieldData_";
+    /** Name of the static field holding the FieldData on a generated descriptor class. */
+    public static final String GENERATED_FIELD_NAME = "FIELD_DATA";
+
+    /**
+     * Load the FieldData descriptor generated at compile time for a model class, if there is one. The descriptor is a
+     * class named FieldData_{model} in the same package (nested class names are joined with underscores), with a
+     * static FIELD_DATA field.
+     * @param modelClass    model class
+     * @return  generated field data, or null if no descriptor was generated for the class
+     */
+    public FieldData loadGenerated(Class modelClass) {
+        String name = modelClass.getName();
+        int lastDot = name.lastIndexOf('.');
+        String generatedName = name.substring(0, lastDot + 1) + GENERATED_CLASS_PREFIX
+                + name.substring(lastDot + 1).replace('$', '_');
+        try {
+            Class<?> generatedClass = Class.forName(generatedName, true, modelClass.getClassLoader());
+            return (FieldData)generatedClass.getField(GENERATED_FIELD_NAME).get(null);
+        } catch (ClassNotFoundException e) {
+            return null;
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalStateException("Invalid generated field data class " + generatedName, e);
+        }
+    }
+
     /**
      * Scan a model class, looking for annotations
      * @param modelClass    model class
@@ -29,11 +56,18 @@ public class FieldScanner {
         Set<String> scannedFields = new HashSet<>();
 
         for (java.lang.reflect.Field field : modelClass.getDeclaredFields()) {
+            // skip compiler- and tool-generated fields (such as code coverage probes), which are not part of the model
+            if (field.isSynthetic()) {
+                continue;
+            }
             String fieldName = field.getName();
             addToMap(builder, fieldMap, found, fieldName, field, isFieldOptional(field));
             scannedFields.add(fieldName);
         }
         for (Method method : modelClass.getDeclaredMethods()) {
+            if (method.isSynthetic()) {
+                continue;
+            }
             String fieldName = toFieldName(method);
             if (fieldName != null && !scannedFields.contains(fieldName)) {
                 addToMap(builder, fieldMap, found, fieldName, method, isMethodFieldOptional(method));
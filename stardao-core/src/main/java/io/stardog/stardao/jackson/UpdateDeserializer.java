@@ -1,26 +1,27 @@
 package io.stardog.stardao.jackson;
 
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.BeanProperty;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.JavaType;
 import com.fasterxml.jackson.databind.JsonDeserializer;
 import com.fasterxml.jackson.databind.JsonMappingException;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
-import com.fasterxml.jackson.databind.node.NullNode;
-import com.fasterxml.jackson.databind.node.TextNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.Update;
 
 import java.io.IOException;
-import java.util.HashMap;
-import java.util.Iterator;
-import java.util.Map;
 
+/**
+ * Deserializes an Update from a JSON object in a single pass over its tokens. Fields that are null or empty strings
+ * become remove fields; the values of the other fields are copied into a TokenBuffer, which is then read into the
+ * partial type with a deserializer that is looked up once per contextual type.
+ */
 public class UpdateDeserializer extends JsonDeserializer<Update<?>> implements ContextualDeserializer {
     private JavaType valueType;
+    private JsonDeserializer<Object> valueDeserializer;
 
     @Override
     public JsonDeserializer<?> createContextual(DeserializationContext ctx, BeanProperty property) throws JsonMappingException {
@@ -29,33 +30,39 @@ public class UpdateDeserializer extends JsonDeserializer<Update<?>> implements C
 
         UpdateDeserializer deserializer = new UpdateDeserializer();
         deserializer.valueType = valueType;
+        deserializer.valueDeserializer = ctx.findRootValueDeserializer(valueType);
         return deserializer;
     }
 
     @Override
     public Update<?> deserialize(JsonParser parser, DeserializationContext ctx) throws IOException {
-        ObjectMapper mapper = (ObjectMapper) parser.getCodec();
-
-        JsonNode node = mapper.readTree(parser);
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.FIELD_NAME && token != JsonToken.END_OBJECT) {
+            return (Update<?>)ctx.handleUnexpectedToken(Update.class, parser);
+        }
 
         ImmutableSet.Builder<String> setFields = ImmutableSet.builder();
         ImmutableSet.Builder<String> removeFields = ImmutableSet.builder();
-        Map<String,JsonNode> setNodes = new HashMap<>();
-
-        Iterator<String> iter = node.fieldNames();
-        while (iter.hasNext()) {
-            String field = iter.next();
-            JsonNode value = node.get(field);
-            if (value instanceof NullNode) {
-                removeFields.add(field);
-            } else if (value instanceof TextNode && value.toString().equals("\"\"")) {
+        TokenBuffer setValues = new TokenBuffer(parser, ctx);
+        setValues.writeStartObject();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            String field = parser.getCurrentName();
+            JsonToken value = parser.nextToken();
+            if (value == JsonToken.VALUE_NULL || (value == JsonToken.VALUE_STRING && parser.getTextLength() == 0)) {
                 removeFields.add(field);
             } else {
                 setFields.add(field);
-                setNodes.put(field, value);
+                setValues.writeFieldName(field);
+                setValues.copyCurrentStructure(parser);
             }
         }
-        Object setObject = mapper.convertValue(setNodes, valueType);
+        setValues.writeEndObject();
+
+        JsonParser setParser = setValues.asParser(parser.getCodec());
+        setParser.nextToken();
+        Object setObject = valueDeserializer.deserialize(setParser, ctx);
 
         return Update.of(setObject, setFields.build(), removeFields.build());
     }
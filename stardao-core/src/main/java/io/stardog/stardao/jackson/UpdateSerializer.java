@@ -3,14 +3,59 @@ package io.stardog.stardao.jackson;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import io.stardog.stardao.core.Update;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * Serializes an Update as a JSON object of its set fields, plus nulls for its remove fields. The set fields are
+ * written straight from the partial with its bean serializer's property writers, so the rest of the partial is never
+ * serialized. A set field that the partial does not write (such as a null value) is written as null.
+ */
 public class UpdateSerializer extends JsonSerializer<Update<?>> {
+    private final Map<Class<?>,Map<String,PropertyWriter>> propertyWriters = new ConcurrentHashMap<>();
+
     @Override
     public void serialize(Update<?> update, JsonGenerator jsonGen, SerializerProvider serializerProvider) throws IOException {
+        Object partial = update.getPartial();
+        Map<String,PropertyWriter> writers = getPropertyWriters(partial.getClass(), serializerProvider);
+        if (writers.isEmpty()) {
+            serializeFromMap(update, jsonGen);
+            return;
+        }
+
+        jsonGen.writeStartObject();
+        for (String field : update.getSetFields()) {
+            PropertyWriter writer = writers.get(field);
+            int entries = jsonGen.getOutputContext().getEntryCount();
+            if (writer != null) {
+                try {
+                    writer.serializeAsField(partial, jsonGen, serializerProvider);
+                } catch (IOException | RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw JsonMappingException.from(jsonGen, "Problem serializing " + field + ": " + e.getMessage(), e);
+                }
+            }
+            if (jsonGen.getOutputContext().getEntryCount() == entries) {
+                jsonGen.writeNullField(field);
+            }
+        }
+        for (String field : update.getRemoveFields()) {
+            jsonGen.writeNullField(field);
+        }
+        jsonGen.writeEndObject();
+    }
+
+    /**
+     * Serialize an update whose partial is not a bean, such as a map, by converting the partial to a map.
+     */
+    private void serializeFromMap(Update<?> update, JsonGenerator jsonGen) throws IOException {
         ObjectMapper mapper = (ObjectMapper) jsonGen.getCodec();
         Map<String,Object> partial = mapper.convertValue(update.getPartial(), new TypeReference<Map<String,Object>>() { });
 
@@ -21,7 +66,20 @@ public class UpdateSerializer extends JsonSerializer<Update<?>> {
         for (String field : update.getRemoveFields()) {
             jsonGen.writeNullField(field);
         }
-
         jsonGen.writeEndObject();
     }
+
+    private Map<String,PropertyWriter> getPropertyWriters(Class<?> type, SerializerProvider serializerProvider) throws JsonMappingException {
+        Map<String,PropertyWriter> writers = propertyWriters.get(type);
+        if (writers == null) {
+            writers = new HashMap<>();
+            Iterator<PropertyWriter> properties = serializerProvider.findValueSerializer(type).properties();
+            while (properties.hasNext()) {
+                PropertyWriter writer = properties.next();
+                writers.put(writer.getName(), writer);
+            }
+            propertyWriters.put(type, writers);
+        }
+        return writers;
+    }
 }
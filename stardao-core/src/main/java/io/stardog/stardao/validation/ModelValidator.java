@@ -1,8 +1,12 @@
 package io.stardog.stardao.validation;
 
 import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.annotations.Required;
 import io.stardog.stardao.core.Update;
 import io.stardog.stardao.core.field.Field;
@@ -12,14 +16,21 @@ import io.stardog.stardao.exceptions.DataValidationException;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validator;
 import javax.validation.groups.Default;
+import javax.validation.metadata.PropertyDescriptor;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ModelValidator {
     private final Validator validator;
     private final ObjectMapper mapper;
+    private final Map<Class<?>,Map<FieldData,ClassMetadata>> metadata = new ConcurrentHashMap<>();
 
     public ModelValidator(Validator validator, ObjectMapper mapper) {
         this.validator = validator;
@@ -56,7 +67,38 @@ public class ModelValidator {
         if (create == null) {
             return ImmutableList.of(ValidationError.of("", "create is null"));
         }
+        ClassMetadata classMetadata = getClassMetadata(create.getClass(), fieldData);
+        if (classMetadata.properties.isEmpty()) {
+            return getCreateValidationErrorsFromMap(create, fieldData);
+        }
 
+        ImmutableList.Builder<ValidationError> errors = ImmutableList.builder();
+        Set<String> createFields = new HashSet<>();
+        for (Map.Entry<String,BeanPropertyWriter> property : classMetadata.properties.entrySet()) {
+            if (getPropertyValue(create, property.getValue()) == null) {
+                continue;
+            }
+            String fieldName = property.getKey();
+            createFields.add(fieldName);
+            Field field = fieldData.getMap().get(fieldName);
+            if (field == null) {
+                errors.add(ValidationError.of(fieldName, "does not exist"));
+            } else if (!field.isCreatable() && !field.isUpdatable()) {
+                errors.add(ValidationError.of(fieldName, "is not creatable"));
+            }
+        }
+        for (Field field : classMetadata.requiredCreateFields) {
+            BeanPropertyWriter property = classMetadata.properties.get(field.getName());
+            Object value = property == null ? null : getPropertyValue(create, property);
+            if (value == null || "".equals(value)) {
+                errors.add(ValidationError.of(field.getName(), "is required"));
+            }
+        }
+        addPropertyViolations(create, createFields, classMetadata, errors);
+        return errors.build();
+    }
+
+    private List<ValidationError> getCreateValidationErrorsFromMap(Object create, FieldData fieldData) {
         ImmutableList.Builder<ValidationError> errors = ImmutableList.builder();
         Map<String,Object> createMap = mapper.convertValue(create, new TypeReference<Map<String,Object>>() { });
         Set<String> createFields = createMap.keySet();
@@ -114,20 +156,68 @@ public class ModelValidator {
             }
         }
 
-        // validate the model -- but ignore fields that aren't being touched
-        Set<ConstraintViolation<Object>> violations = validator.validate(update.getPartial(), Default.class);
-        Set<String> errorFields = new HashSet<>();
-        for (ConstraintViolation<?> cv : violations) {
-            String field = cv.getPropertyPath().toString();
-            if (updateFields.contains(field) && !errorFields.contains(field)) {
-                errors.add(ValidationError.of(field, cv.getMessage()));
-                errorFields.add(field);
-            }
+        // validate only the fields that are being touched
+        Object partial = update.getPartial();
+        if (partial != null) {
+            addPropertyViolations(partial, updateFields, getClassMetadata(partial.getClass(), fieldData), errors);
         }
 
         return errors.build();
     }
 
+    /**
+     * Validate the constrained properties among the given fields, adding the first violation of each as an error.
+     */
+    private void addPropertyViolations(Object object, Set<String> fields, ClassMetadata classMetadata,
+                                       ImmutableList.Builder<ValidationError> errors) {
+        for (String field : fields) {
+            if (!classMetadata.constrainedProperties.contains(field)) {
+                continue;
+            }
+            Set<ConstraintViolation<Object>> violations = validator.validateProperty(object, field, Default.class);
+            if (!violations.isEmpty()) {
+                errors.add(ValidationError.of(field, violations.iterator().next().getMessage()));
+            }
+        }
+    }
+
+    /**
+     * Return the validation metadata of a class, computing it the first time the class is validated against a
+     * given FieldData. Metadata is cached per class and FieldData, so DAOs sharing a class don't evict each other.
+     */
+    private ClassMetadata getClassMetadata(Class<?> type, FieldData fieldData) {
+        // FieldData is matched by identity, since its value hash walks the whole field map
+        Map<FieldData,ClassMetadata> byFieldData = metadata.get(type);
+        ClassMetadata classMetadata = byFieldData != null ? byFieldData.get(fieldData) : null;
+        if (classMetadata == null) {
+            ClassMetadata computed = new ClassMetadata(type, fieldData);
+            // the per-class maps are copied on write, so that lookups never lock
+            metadata.compute(type, (t, existing) -> {
+                Map<FieldData,ClassMetadata> copy = existing != null ? new IdentityHashMap<>(existing) : new IdentityHashMap<>();
+                copy.putIfAbsent(fieldData, computed);
+                return copy;
+            });
+            classMetadata = computed;
+        }
+        return classMetadata;
+    }
+
+    /**
+     * Read a property of an object, treating empty Optionals as null, as they are when the object is serialized.
+     */
+    private static Object getPropertyValue(Object object, BeanPropertyWriter property) {
+        Object value;
+        try {
+            value = property.get(object);
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to read " + property.getName() + ": " + e.getMessage(), e);
+        }
+        if (value instanceof Optional) {
+            return ((Optional<?>)value).orElse(null);
+        }
+        return value;
+    }
+
     public boolean validateModel(Object model) {
         List<ValidationError> errors = getModelValidationErrors(model, Default.class);
         if (!errors.isEmpty()) {
@@ -151,4 +241,38 @@ public class ModelValidator {
         }
         return true;
     }
+
+    private class ClassMetadata {
+        private final Map<String,BeanPropertyWriter> properties = new LinkedHashMap<>();
+        private final Set<String> constrainedProperties;
+        private final List<Field> requiredCreateFields;
+
+        private ClassMetadata(Class<?> type, FieldData fieldData) {
+            try {
+                Iterator<PropertyWriter> writers = mapper.getSerializerProviderInstance().findValueSerializer(type).properties();
+                while (writers.hasNext()) {
+                    PropertyWriter writer = writers.next();
+                    if (writer instanceof BeanPropertyWriter) {
+                        properties.put(writer.getName(), (BeanPropertyWriter)writer);
+                    }
+                }
+            } catch (JsonMappingException e) {
+                throw new IllegalArgumentException("Unable to find serializer for " + type.getSimpleName(), e);
+            }
+
+            ImmutableSet.Builder<String> constrained = ImmutableSet.builder();
+            for (PropertyDescriptor property : validator.getConstraintsForClass(type).getConstrainedProperties()) {
+                constrained.add(property.getPropertyName());
+            }
+            this.constrainedProperties = constrained.build();
+
+            ImmutableList.Builder<Field> required = ImmutableList.builder();
+            for (Field field : fieldData.getMap().values()) {
+                if (!field.isOptional() && (field.isCreatable() || field.isUpdatable())) {
+                    required.add(field);
+                }
+            }
+            this.requiredCreateFields = required.build();
+        }
+    }
 }
@@ -0,0 +1,184 @@
+package io.stardog.stardao.core;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CachingDaoTest {
+    private TestDao dao;
+    private CachingDao<TestModel,TestModel,UUID,UUID> cache;
+
+    @Before
+    public void setUp() throws Exception {
+        dao = mock(TestDao.class);
+        cache = new CachingDao<>(dao, 100, Duration.ofMinutes(5));
+    }
+
+    private TestModel model(UUID id, String name) {
+        return TestModel.builder().id(id).name(name).build();
+    }
+
+    @Test
+    public void testLoadOptCachesHits() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Ian")));
+
+        assertEquals("Ian", cache.load(id).getName());
+        assertEquals("Ian", cache.loadOpt(id).get().getName());
+        verify(dao, times(1)).loadOpt(id);
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+    }
+
+    @Test
+    public void testMissesNotCachedByDefault() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.empty());
+
+        assertFalse(cache.loadOpt(id).isPresent());
+        assertFalse(cache.loadOpt(id).isPresent());
+        verify(dao, times(2)).loadOpt(id);
+    }
+
+    @Test
+    public void testNegativeCaching() throws Exception {
+        cache = new CachingDao<>(dao, 100, Duration.ofMinutes(5), true, TestModel::getId);
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.empty());
+
+        assertFalse(cache.loadOpt(id).isPresent());
+        assertFalse(cache.loadOpt(id).isPresent());
+        verify(dao, times(1)).loadOpt(id);
+
+        TestModel created = model(id, "Ian");
+        when(dao.create(any(), any(), any())).thenReturn(created);
+        cache.create(TestModel.builder().name("Ian").build());
+        assertEquals(created, cache.loadOpt(id).get());
+        verify(dao, times(1)).loadOpt(id);
+    }
+
+    @Test
+    public void testCreateClearsMissesWithoutIdFunction() throws Exception {
+        cache = new CachingDao<>(dao, 100, Duration.ofMinutes(5), true, null);
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.empty());
+        assertFalse(cache.loadOpt(id).isPresent());
+
+        when(dao.create(any(), any(), any())).thenReturn(model(id, "Ian"));
+        cache.create(TestModel.builder().name("Ian").build());
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Ian")));
+        assertTrue(cache.loadOpt(id).isPresent());
+        verify(dao, times(2)).loadOpt(id);
+    }
+
+    @Test
+    public void testLoadPartialCachesPerProjection() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id, ImmutableSet.of("name"))).thenReturn(Optional.of(model(id, "Ian")));
+        when(dao.loadOpt(id, ImmutableSet.of("email"))).thenReturn(Optional.of(TestModel.builder().email("ian@example.com").build()));
+
+        assertEquals("Ian", cache.load(id, ImmutableList.of("name")).getName());
+        assertEquals("Ian", cache.load(id, ImmutableList.of("name")).getName());
+        assertEquals("ian@example.com", cache.load(id, ImmutableList.of("email")).getEmail());
+        verify(dao, times(1)).loadOpt(id, ImmutableSet.of("name"));
+        verify(dao, times(1)).loadOpt(id, ImmutableSet.of("email"));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(2, cache.getMissCount());
+    }
+
+    @Test
+    public void testUpdateInvalidates() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Ian")));
+        when(dao.loadOpt(id, ImmutableSet.of("name"))).thenReturn(Optional.of(model(id, "Ian")));
+        cache.loadOpt(id);
+        cache.loadOpt(id, ImmutableSet.of("name"));
+
+        Update<TestModel> update = Update.of(model(null, "Bob"), ImmutableSet.of("name"));
+        cache.update(id, update);
+        verify(dao).update(any(), any(), any(Instant.class), any());
+
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Bob")));
+        when(dao.loadOpt(id, ImmutableSet.of("name"))).thenReturn(Optional.of(model(id, "Bob")));
+        assertEquals("Bob", cache.load(id).getName());
+        assertEquals("Bob", cache.load(id, ImmutableSet.of("name")).getName());
+    }
+
+    @Test
+    public void testInvalidateDuringLoadIsNotLost() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenAnswer(invocation -> {
+            cache.invalidate(id);
+            return Optional.of(model(id, "Ian"));
+        });
+        when(dao.loadOpt(id, ImmutableSet.of("name"))).thenAnswer(invocation -> {
+            cache.invalidate(id);
+            return Optional.of(model(id, "Ian"));
+        });
+
+        assertEquals("Ian", cache.load(id).getName());
+        assertEquals("Ian", cache.load(id, ImmutableSet.of("name")).getName());
+
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Bob")));
+        when(dao.loadOpt(id, ImmutableSet.of("name"))).thenReturn(Optional.of(model(id, "Bob")));
+        assertEquals("Bob", cache.load(id).getName());
+        assertEquals("Bob", cache.load(id, ImmutableSet.of("name")).getName());
+        assertEquals("Bob", cache.load(id).getName());
+        verify(dao, times(2)).loadOpt(id);
+    }
+
+    @Test
+    public void testDeleteInvalidates() throws Exception {
+        UUID id = UUID.randomUUID();
+        when(dao.loadOpt(id)).thenReturn(Optional.of(model(id, "Ian")));
+        cache.loadOpt(id);
+
+        cache.delete(id);
+        verify(dao).delete(id);
+        when(dao.loadOpt(id)).thenReturn(Optional.empty());
+        assertFalse(cache.loadOpt(id).isPresent());
+    }
+
+    @Test
+    public void testLoadManyUsesCache() throws Exception {
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        when(dao.loadOpt(id1)).thenReturn(Optional.of(model(id1, "Ian")));
+        when(dao.loadMany(ImmutableList.of(id2))).thenReturn(ImmutableMap.of(id2, model(id2, "Bob")));
+        cache.loadOpt(id1);
+
+        assertEquals(ImmutableList.of(id1, id2), ImmutableList.copyOf(cache.loadMany(ImmutableList.of(id1, id2)).keySet()));
+        assertEquals("Bob", cache.load(id2).getName());
+        verify(dao, times(1)).loadMany(ImmutableList.of(id2));
+        assertEquals(2, cache.getHitCount());
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        cache = new CachingDao<>(dao, 1, Duration.ofMinutes(5));
+        UUID id1 = UUID.randomUUID();
+        UUID id2 = UUID.randomUUID();
+        when(dao.loadOpt(id1)).thenReturn(Optional.of(model(id1, "Ian")));
+        when(dao.loadOpt(id2)).thenReturn(Optional.of(model(id2, "Bob")));
+
+        cache.loadOpt(id1);
+        cache.loadOpt(id2);
+        cache.loadOpt(id1);
+        verify(dao, times(2)).loadOpt(id1);
+        assertEquals(2, cache.getEvictionCount());
+    }
+}
@@ -0,0 +1,111 @@
+package io.stardog.stardao.core;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+public class LoadCoalescerTest {
+    @Test
+    public void testLoad() throws Exception {
+        LoadCoalescer coalescer = new LoadCoalescer();
+        assertEquals("a", coalescer.load("key", () -> "a"));
+        assertEquals("b", coalescer.load("key", () -> "b"));
+        assertEquals(2, coalescer.getLoadCount());
+        assertEquals(0, coalescer.getCollapsedCount());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    public void testConcurrentLoadsCollapse() throws Exception {
+        LoadCoalescer coalescer = new LoadCoalescer();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger calls = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.load("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }));
+            started.await(5, TimeUnit.SECONDS);
+
+            List<Future<String>> followers = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                followers.add(executor.submit(() -> coalescer.load("key", () -> {
+                    calls.incrementAndGet();
+                    return "other";
+                })));
+            }
+            while (coalescer.getCollapsedCount() < 4) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertEquals("value", leader.get(5, TimeUnit.SECONDS));
+            for (Future<String> follower : followers) {
+                assertEquals("value", follower.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, calls.get());
+            assertEquals(1, coalescer.getLoadCount());
+            assertEquals(4, coalescer.getCollapsedCount());
+            assertEquals(0, coalescer.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testExceptionSharedWithFollowers() throws Exception {
+        LoadCoalescer coalescer = new LoadCoalescer();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<String> leader = executor.submit(() -> coalescer.load("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            started.await(5, TimeUnit.SECONDS);
+            Future<String> follower = executor.submit(() -> coalescer.load("key", () -> "other"));
+            while (coalescer.getCollapsedCount() < 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> future : Arrays.asList(leader, follower)) {
+                try {
+                    future.get(5, TimeUnit.SECONDS);
+                    fail("Expected exception");
+                } catch (ExecutionException e) {
+                    assertTrue(e.getCause() instanceof IllegalStateException);
+                    assertEquals("boom", e.getCause().getMessage());
+                }
+            }
+            assertEquals(0, coalescer.getInFlightCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
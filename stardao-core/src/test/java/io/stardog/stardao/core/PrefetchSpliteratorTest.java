@@ -0,0 +1,105 @@
+package io.stardog.stardao.core;
+
+import com.google.common.collect.AbstractIterator;
+import org.junit.Test;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PrefetchSpliteratorTest {
+    @Test
+    public void testStreamPreservesOrder() throws Exception {
+        Set<String> mappingThreads = ConcurrentHashMap.newKeySet();
+        List<Integer> expected = IntStream.range(0, 5000).boxed().collect(Collectors.toList());
+        try (Stream<Integer> stream = PrefetchSpliterator.stream(expected::iterator, i -> {
+            mappingThreads.add(Thread.currentThread().getName());
+            return i;
+        }, "test-fetch")) {
+            assertFalse(stream.isParallel());
+            assertEquals(expected, stream.parallel().collect(Collectors.toList()));
+        }
+        assertTrue(mappingThreads.stream().noneMatch("test-fetch"::equals));
+    }
+
+    @Test
+    public void testSmallBatches() throws Exception {
+        List<Integer> expected = IntStream.range(0, 103).boxed().collect(Collectors.toList());
+        PrefetchSpliterator<Integer> spliterator = new PrefetchSpliterator<>(expected::iterator, 10, 1, "test-fetch");
+        List<Integer> found = new ArrayList<>();
+        // mix splitting and advancing, as a parallel stream would
+        spliterator.tryAdvance(found::add);
+        spliterator.trySplit().forEachRemaining(found::add);
+        spliterator.trySplit().forEachRemaining(found::add);
+        spliterator.forEachRemaining(found::add);
+        assertEquals(expected, found);
+    }
+
+    @Test
+    public void testFetchFailure() throws Exception {
+        Iterator<Integer> failing = new AbstractIterator<Integer>() {
+            private int count = 0;
+
+            @Override
+            protected Integer computeNext() {
+                if (count == 1200) {
+                    throw new IllegalStateException("cursor died");
+                }
+                return count++;
+            }
+        };
+        try (Stream<Integer> stream = PrefetchSpliterator.stream(() -> failing, i -> i, "test-fetch")) {
+            stream.count();
+            fail("Expected IllegalStateException");
+        } catch (IllegalStateException e) {
+            assertEquals("cursor died", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testCloseStopsFetching() throws Exception {
+        CountDownLatch closed = new CountDownLatch(1);
+        EndlessCursor cursor = new EndlessCursor(closed);
+        try (Stream<Integer> stream = PrefetchSpliterator.stream(() -> cursor, i -> i, "test-fetch")) {
+            assertEquals(10, stream.limit(10).count());
+        }
+        assertTrue(closed.await(5, TimeUnit.SECONDS));
+    }
+
+    private static class EndlessCursor implements Iterator<Integer>, Closeable {
+        private final CountDownLatch closed;
+        private int next = 0;
+
+        private EndlessCursor(CountDownLatch closed) {
+            this.closed = closed;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return true;
+        }
+
+        @Override
+        public Integer next() {
+            return next++;
+        }
+
+        @Override
+        public void close() {
+            closed.countDown();
+        }
+    }
+}
@@ -28,4 +28,10 @@ public class FieldScannerTest {
         assertEquals("loginAt", scanner.toFieldName(TestModel.class.getDeclaredMethod("getLoginAt")));
         assertNull(scanner.toFieldName(TestModel.class.getDeclaredMethod("getLoginAt", long.class)));
     }
+
+    @Test
+    public void testLoadGeneratedAbsent() throws Exception {
+        FieldScanner scanner = new FieldScanner();
+        assertNull(scanner.loadGenerated(TestModel.class));
+    }
 }
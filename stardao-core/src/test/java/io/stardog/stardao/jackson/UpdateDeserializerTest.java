@@ -2,6 +2,7 @@ package io.stardog.stardao.jackson;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.TestModel;
@@ -39,4 +40,28 @@ public class UpdateDeserializerTest {
         Update<TestModel> update = mapper.readValue(json, new TypeReference<Update<TestModel>>() {});
         assertTrue(update.getPartial().getActive());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testDeserializeProperty() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.registerModule(new JavaTimeModule());
+
+        String json = "{\"update\":{\"name\":\"Marty\",\"email\":null},\"note\":\"after\"}";
+        UpdateRequest request = mapper.readValue(json, UpdateRequest.class);
+        assertEquals("Marty", request.update.getPartial().getName());
+        assertEquals(ImmutableSet.of("name"), request.update.getSetFields());
+        assertEquals(ImmutableSet.of("email"), request.update.getRemoveFields());
+        assertEquals("after", request.note);
+    }
+
+    @Test(expected = MismatchedInputException.class)
+    public void testDeserializeNotObject() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.readValue("[\"name\"]", new TypeReference<Update<TestModel>>() {});
+    }
+
+    public static class UpdateRequest {
+        public Update<TestModel> update;
+        public String note;
+    }
+}
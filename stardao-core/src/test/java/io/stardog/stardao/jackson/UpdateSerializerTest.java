@@ -2,12 +2,14 @@ package io.stardog.stardao.jackson;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.TestModel;
 import io.stardog.stardao.core.Update;
 import org.junit.Test;
 
 import java.time.LocalDate;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -28,4 +30,30 @@ public class UpdateSerializerTest {
         String json = mapper.writeValueAsString(update);
         assertEquals("{\"email\":\"test@example.com\",\"birthday\":\"2017-03-01\",\"country\":null}", json);
     }
+
+    @Test
+    public void serializeMissingSetFields() throws Exception {
+        Update<TestModel> update = Update.of(TestModel.builder()
+                .name("Test")
+                .build(),
+                ImmutableSet.of("name", "email", "unknown"),
+                ImmutableSet.of("country"));
+
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule());
+
+        String json = mapper.writeValueAsString(update);
+        assertEquals("{\"name\":\"Test\",\"email\":null,\"unknown\":null,\"country\":null}", json);
+        assertEquals(json, mapper.writeValueAsString(update));
+    }
+
+    @Test
+    public void serializeMap() throws Exception {
+        Update<Map<String,Object>> update = Update.of(ImmutableMap.of("name", "Test", "count", 3),
+                ImmutableSet.of("count"),
+                ImmutableSet.of("email"));
+
+        String json = new ObjectMapper().writeValueAsString(update);
+        assertEquals("{\"count\":3,\"email\":null}", json);
+    }
 }
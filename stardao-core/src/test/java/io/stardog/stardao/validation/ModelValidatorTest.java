@@ -5,6 +5,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import io.stardog.stardao.core.TestModel;
 import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.field.Field;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.core.field.FieldScanner;
 import io.stardog.stardao.exceptions.DataValidationException;
@@ -15,7 +16,9 @@ import org.junit.Test;
 import javax.validation.Validation;
 import javax.validation.groups.Default;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.junit.Assert.*;
 
@@ -72,6 +75,24 @@ public class ModelValidatorTest {
         assertEquals("is not creatable", errors.get(0).getMessage());
     }
 
+    @Test
+    public void testGetCreateValidationErrorsWithOtherFieldData() throws Exception {
+        TestValidateModel model = TestValidateModel.builder().email("example@example.com").type("type").build();
+        assertEquals(0, validator.getCreateValidationErrors(model, fieldData).size());
+
+        // metadata is cached separately for each field data the class is validated against
+        Map<String,Field> fields = new HashMap<>(fieldData.getMap());
+        fields.remove("type");
+        FieldData withoutType = fieldData.toBuilder().map(fields).build();
+        List<ValidationError> errors = validator.getCreateValidationErrors(model, withoutType);
+        assertEquals(1, errors.size());
+        assertEquals("type: does not exist", errors.get(0).toString());
+
+        assertEquals(0, validator.getCreateValidationErrors(model, fieldData).size());
+        assertEquals(1, validator.getCreateValidationErrors(model, withoutType).size());
+        assertEquals(0, validator.getCreateValidationErrors(model, fieldData).size());
+    }
+
     @Test
     public void testGetUpdateValidationErrors() throws Exception {
         List<ValidationError> errors = validator.getUpdateValidationErrors(null, fieldData);
@@ -1,13 +1,19 @@
 package io.stardog.stardao.dynamodb;
 
 import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.document.BatchGetItemOutcome;
 import com.amazonaws.services.dynamodbv2.document.DynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Index;
 import com.amazonaws.services.dynamodbv2.document.Item;
 import com.amazonaws.services.dynamodbv2.document.ItemCollection;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.KeyAttribute;
+import com.amazonaws.services.dynamodbv2.document.Page;
 import com.amazonaws.services.dynamodbv2.document.PrimaryKey;
 import com.amazonaws.services.dynamodbv2.document.QueryOutcome;
+import com.amazonaws.services.dynamodbv2.document.ScanOutcome;
 import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.document.TableKeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.document.UpdateItemOutcome;
 import com.amazonaws.services.dynamodbv2.document.spec.DeleteItemSpec;
 import com.amazonaws.services.dynamodbv2.document.spec.GetItemSpec;
@@ -18,22 +24,51 @@ import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
 import com.amazonaws.services.dynamodbv2.document.utils.NameMap;
 import com.amazonaws.services.dynamodbv2.document.utils.ValueMap;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchGetItemResult;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
 import com.amazonaws.services.dynamodbv2.model.CreateGlobalSecondaryIndexAction;
 import com.amazonaws.services.dynamodbv2.model.CreateTableRequest;
+import com.amazonaws.services.dynamodbv2.model.DeleteRequest;
 import com.amazonaws.services.dynamodbv2.model.DeleteTableRequest;
 import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndex;
 import com.amazonaws.services.dynamodbv2.model.GlobalSecondaryIndexDescription;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.KeysAndAttributes;
 import com.amazonaws.services.dynamodbv2.model.ProvisionedThroughput;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
 import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
 import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
 import com.amazonaws.services.dynamodbv2.util.TableUtils;
+import com.amazonaws.util.BinaryUtils;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.AbstractIterator;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Iterators;
+import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.stardog.stardao.core.AbstractDao;
+import io.stardog.stardao.core.PrefetchSpliterator;
 import io.stardog.stardao.core.Results;
 import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.WriteResult;
 import io.stardog.stardao.core.field.Field;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.dynamodb.mapper.ItemMapper;
@@ -42,8 +77,25 @@ import io.stardog.stardao.exceptions.DataNotFoundException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     protected final ItemMapper<M> modelMapper;
@@ -52,6 +104,19 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     protected final Table table;
     protected final String tableName;
     private final static Logger LOGGER = LoggerFactory.getLogger(AbstractDynamoDao.class);
+    public final static int BATCH_GET_SIZE = 100;
+    public final static int BATCH_WRITE_SIZE = 25;
+    public final static int MAX_BATCH_GET_RETRIES = 10;
+    public final static int MAX_BATCH_WRITE_RETRIES = 10;
+    public final static int MAX_SCAN_SEGMENTS = 1000000;
+    public final static int DEFAULT_SCAN_BUFFER_SIZE = 1000;
+    public final static int DEFAULT_SCAN_THREADS = 16;
+    private final static long MAX_BACKOFF_MILLIS = 1000;
+    private final static ObjectMapper CURSOR_MAPPER = new ObjectMapper();
+    public final static int MAX_UPDATE_TEMPLATES = 1000;
+    private final Cache<List<Object>,UpdateTemplate> updateTemplates = CacheBuilder.newBuilder()
+            .maximumSize(MAX_UPDATE_TEMPLATES)
+            .build();
 
     public AbstractDynamoDao(Class<M> modelClass, Class<P> partialClass, AmazonDynamoDB db, String tableName) {
         super(modelClass, partialClass);
@@ -145,15 +210,112 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
      * @return  optional containing the object, or empty if not found
      */
     public Optional<M> loadOpt(K id) {
-        GetItemSpec spec = new GetItemSpec()
-                .withPrimaryKey(toPrimaryKey(id));
-        Item item = getTable().getItem(spec);
-        return Optional.ofNullable(modelMapper.toObject(item));
+        return coalesceLoad(id, () -> {
+            GetItemSpec spec = new GetItemSpec()
+                    .withPrimaryKey(toPrimaryKey(id));
+            Item item = getTable().getItem(spec);
+            return Optional.ofNullable(modelMapper.toObject(item));
+        });
     }
 
     public Optional<P> loadOpt(K id, Iterable<String> fields) {
-        FieldData fieldData = getFieldData();
+        return coalesceLoad(id, fields, () -> {
+            NameMap nameMap = new NameMap();
+            String projectionExpression = toProjectionExpression(fields, nameMap);
+
+            GetItemSpec spec = new GetItemSpec()
+                    .withPrimaryKey(toPrimaryKey(id))
+                    .withProjectionExpression(projectionExpression)
+                    .withNameMap(nameMap);
+            Item item = getTable().getItem(spec);
+            return Optional.ofNullable(partialMapper.toObject(item));
+        });
+    }
+
+    /**
+     * Load multiple objects by id, using BatchGetItem requests of up to BATCH_GET_SIZE keys each. Unprocessed keys
+     * are retried with exponential backoff.
+     * @param ids   ids of the objects
+     * @return  map of id to object, in the order the ids were given; ids not found are omitted
+     * @throws IllegalStateException    if keys remain unprocessed after MAX_BATCH_GET_RETRIES retries
+     */
+    @Override
+    public Map<K,M> loadMany(Collection<K> ids) {
+        Map<String,M> found = new HashMap<>();
+        for (Item item : batchGetItems(ids, null, null)) {
+            found.put(toKeyString(item), modelMapper.toObject(item));
+        }
+        return toOrderedMap(ids, found);
+    }
+
+    /**
+     * Load multiple partial objects by id, using BatchGetItem requests of up to BATCH_GET_SIZE keys each.
+     * @param ids   ids of the objects
+     * @param fields    set of fields to return
+     * @return  map of id to partial object, in the order the ids were given; ids not found are omitted
+     */
+    @Override
+    public Map<K,P> loadMany(Collection<K> ids, Iterable<String> fields) {
         NameMap nameMap = new NameMap();
+        Set<String> projectFields = new LinkedHashSet<>();
+        fields.forEach(projectFields::add);
+        // the id is always needed to match items back up to the requested keys
+        projectFields.add(getFieldData().getId().getName());
+        String projectionExpression = toProjectionExpression(projectFields, nameMap);
+
+        Map<String,P> found = new HashMap<>();
+        for (Item item : batchGetItems(ids, projectionExpression, nameMap)) {
+            found.put(toKeyString(item), partialMapper.toObject(item));
+        }
+        return toOrderedMap(ids, found);
+    }
+
+    /**
+     * Fetch items by primary key with BatchGetItem, retrying unprocessed keys with exponential backoff.
+     * @param ids   ids of the items
+     * @param projectionExpression  projection expression, or null to return all attributes
+     * @param nameMap   name map for the projection expression, or null
+     * @return  list of items found
+     * @throws IllegalStateException    if keys remain unprocessed after MAX_BATCH_GET_RETRIES retries
+     */
+    protected List<Item> batchGetItems(Collection<K> ids, String projectionExpression, NameMap nameMap) {
+        DynamoDB dynamo = new DynamoDB(db);
+        List<Item> items = new ArrayList<>();
+        for (List<K> batch : Lists.partition(new ArrayList<>(new LinkedHashSet<>(ids)), BATCH_GET_SIZE)) {
+            TableKeysAndAttributes keys = new TableKeysAndAttributes(getTableName());
+            for (K id : batch) {
+                keys.addPrimaryKey(toPrimaryKey(id));
+            }
+            if (projectionExpression != null) {
+                keys.withProjectionExpression(projectionExpression).withNameMap(nameMap);
+            }
+            BatchGetItemOutcome outcome = dynamo.batchGetItem(keys);
+            for (int attempt = 0; ; attempt++) {
+                items.addAll(outcome.getTableItems().getOrDefault(getTableName(), ImmutableList.of()));
+                Map<String,KeysAndAttributes> unprocessed = outcome.getUnprocessedKeys();
+                if (unprocessed == null || unprocessed.isEmpty()) {
+                    break;
+                }
+                if (attempt >= MAX_BATCH_GET_RETRIES) {
+                    throw new IllegalStateException("Unable to read " + unprocessed.get(getTableName()).getKeys().size()
+                            + " items from " + getTableName() + " after " + MAX_BATCH_GET_RETRIES + " retries");
+                }
+                backoff(attempt);
+                outcome = dynamo.batchGetItemUnprocessed(unprocessed);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Convert a list of model field names into a projection expression on their storage names.
+     * @param fields    model field names
+     * @param nameMap   name map to populate with the expression attribute names
+     * @return  projection expression
+     * @throws IllegalArgumentException if any of the fields is unknown
+     */
+    protected String toProjectionExpression(Iterable<String> fields, NameMap nameMap) {
+        FieldData fieldData = getFieldData();
         StringJoiner sj = new StringJoiner(",");
         for (String fieldName : fields) {
             Field field = fieldData.getMap().get(fieldName);
@@ -164,14 +326,68 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
             sj.add("#"+storageName);
             nameMap.put("#"+storageName, storageName);
         }
-        String projectionExpression = sj.toString();
+        return sj.toString();
+    }
 
-        GetItemSpec spec = new GetItemSpec()
-                .withPrimaryKey(toPrimaryKey(id))
-                .withProjectionExpression(projectionExpression)
-                .withNameMap(nameMap);
-        Item item = getTable().getItem(spec);
-        return Optional.ofNullable(partialMapper.toObject(item));
+    /**
+     * Sleep before retrying unprocessed batch items, backing off exponentially up to one second.
+     * @param attempt   number of retries already made
+     */
+    public static void backoff(int attempt) {
+        try {
+            Thread.sleep(Math.min(MAX_BACKOFF_MILLIS, 25L << Math.min(attempt, 10)));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while retrying unprocessed items", e);
+        }
+    }
+
+    /**
+     * Write a batch of up to BATCH_WRITE_SIZE items with BatchWriteItem, retrying unprocessed items with exponential
+     * backoff up to MAX_BATCH_WRITE_RETRIES times. This is the retry loop shared by batchWrite(), copyTable() and
+     * DynamoImporter; callers decide what to do with any items left over.
+     * @param db    DynamoDB client
+     * @param tableName name of the table to write to
+     * @param batch write requests to perform
+     * @param writeLimiter  if not null, pays for the write capacity each request reports having consumed
+     * @return  write requests still unprocessed after the last retry, or an empty list if all were written
+     */
+    public static List<WriteRequest> writeBatch(AmazonDynamoDB db, String tableName, List<WriteRequest> batch,
+                                                RateLimiter writeLimiter) {
+        List<WriteRequest> unprocessed = batch;
+        for (int attempt = 0; !unprocessed.isEmpty() && attempt <= MAX_BATCH_WRITE_RETRIES; attempt++) {
+            if (attempt > 0) {
+                backoff(attempt - 1);
+            }
+            BatchWriteItemRequest request = new BatchWriteItemRequest()
+                    .withRequestItems(ImmutableMap.of(tableName, unprocessed));
+            if (writeLimiter != null) {
+                request.withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL);
+            }
+            BatchWriteItemResult result = db.batchWriteItem(request);
+            if (writeLimiter != null) {
+                ConsumedCapacity consumed = result.getConsumedCapacity() == null || result.getConsumedCapacity().isEmpty()
+                        ? null : result.getConsumedCapacity().get(0);
+                acquireCapacity(writeLimiter, consumed, unprocessed.size());
+            }
+            unprocessed = result.getUnprocessedItems().getOrDefault(tableName, ImmutableList.of());
+        }
+        return unprocessed;
+    }
+
+    private String toKeyString(Item item) {
+        return String.valueOf(toStorageValue(item.get(getFieldData().getId().getStorageName())));
+    }
+
+    private <T> Map<K,T> toOrderedMap(Collection<K> ids, Map<String,T> found) {
+        Map<K,T> results = new LinkedHashMap<>();
+        for (K id : ids) {
+            T object = found.get(String.valueOf(toStorageValue(id)));
+            if (object != null) {
+                results.put(id, object);
+            }
+        }
+        return results;
     }
 
     /**
@@ -213,7 +429,46 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
      */
     @Override
     public Iterable<M> iterateAll() {
-        return () -> new DynamoIterator<>(getTable().scan().iterator(), modelMapper);
+        return () -> Iterators.transform(scanAttributes(new ScanRequest(getTableName())), modelMapper::toObject);
+    }
+
+    /**
+     * Stream all records in the table. Pages are scanned on a dedicated fetch thread; call parallel() on the stream
+     * to map the records to model objects on the fork-join pool. The stream must be closed, e.g. with
+     * try-with-resources, so the scan stops if the stream is abandoned early.
+     * @return  sequential stream of all records in the table
+     */
+    @Override
+    public Stream<M> streamAll() {
+        return PrefetchSpliterator.stream(() -> scanAttributes(new ScanRequest(getTableName())), modelMapper::toObject,
+                getTableName() + "-fetch");
+    }
+
+    /**
+     * Lazily page through the results of a low-level scan, returning raw attribute maps. Skipping the document API
+     * avoids building an Item for every record, which matters for scans over large tables.
+     * @param request   scan request; its exclusive start key is updated as pages are fetched
+     * @return  iterator over the attribute maps of the scanned records
+     */
+    protected Iterator<Map<String,AttributeValue>> scanAttributes(ScanRequest request) {
+        return new AbstractIterator<Map<String,AttributeValue>>() {
+            private Iterator<Map<String,AttributeValue>> page = Collections.emptyIterator();
+            private boolean lastPage = false;
+
+            @Override
+            protected Map<String,AttributeValue> computeNext() {
+                while (!page.hasNext()) {
+                    if (lastPage) {
+                        return endOfData();
+                    }
+                    ScanResult result = db.scan(request);
+                    page = result.getItems().iterator();
+                    request.setExclusiveStartKey(result.getLastEvaluatedKey());
+                    lastPage = result.getLastEvaluatedKey() == null || result.getLastEvaluatedKey().isEmpty();
+                }
+                return page.next();
+            }
+        };
     }
 
     /**
@@ -224,6 +479,134 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return scan(new ScanSpec());
     }
 
+    /**
+     * Scan all records in the table using a parallel scan split into the given number of segments, collecting the
+     * results. Should only be attempted for tables known to fit in memory.
+     * @param totalSegments number of segments to scan concurrently
+     * @return  results containing all records in the table
+     */
+    public Results<M,K> scanAll(int totalSegments) {
+        return Results.of(parallelScan(totalSegments).collect(Collectors.toList()));
+    }
+
+    /**
+     * Stream all records in the table using a parallel scan. The table is split into segments, which are scanned
+     * and mapped concurrently when the stream is consumed; records arrive in no particular order.
+     * @param totalSegments number of segments to split the table into
+     * @return  parallel stream of all records in the table
+     */
+    public Stream<M> parallelScan(int totalSegments) {
+        checkTotalSegments(totalSegments);
+        return StreamSupport.stream(new SegmentSpliterator<>(segment ->
+                Iterators.transform(scanAttributes(toSegmentScanRequest(segment, totalSegments)), modelMapper::toObject),
+                0, totalSegments), true);
+    }
+
+    /**
+     * Visit all records in the table using a parallel scan. Segments are scanned and mapped by a pool of up to
+     * DEFAULT_SCAN_THREADS threads, while the consumer is called on the calling thread, so it need not be
+     * thread-safe. At most DEFAULT_SCAN_BUFFER_SIZE mapped records are buffered; when the consumer falls behind, the
+     * scans wait.
+     * @param totalSegments number of segments to split the table into
+     * @param consumer  consumer to receive each record
+     */
+    public void parallelScan(int totalSegments, Consumer<? super M> consumer) {
+        parallelScan(totalSegments, DEFAULT_SCAN_BUFFER_SIZE, consumer);
+    }
+
+    /**
+     * Visit all records in the table using a parallel scan, with up to DEFAULT_SCAN_THREADS scan threads.
+     * @param totalSegments number of segments to split the table into
+     * @param bufferSize    maximum number of mapped records waiting for the consumer
+     * @param consumer  consumer to receive each record
+     */
+    public void parallelScan(int totalSegments, int bufferSize, Consumer<? super M> consumer) {
+        parallelScan(totalSegments, DEFAULT_SCAN_THREADS, bufferSize, consumer);
+    }
+
+    /**
+     * Visit all records in the table using a parallel scan. The segments are queued for a fixed pool of
+     * min(totalSegments, scanThreads) threads, each of which scans and maps one segment at a time, so the number of
+     * segments does not dictate the number of threads. The consumer is called on the calling thread, so it need not
+     * be thread-safe. If a scan or the consumer fails, the remaining scans are stopped and the exception is rethrown.
+     * @param totalSegments number of segments to split the table into
+     * @param scanThreads   maximum number of segments to scan concurrently
+     * @param bufferSize    maximum number of mapped records waiting for the consumer
+     * @param consumer  consumer to receive each record
+     */
+    public void parallelScan(int totalSegments, int scanThreads, int bufferSize, Consumer<? super M> consumer) {
+        checkTotalSegments(totalSegments);
+        if (scanThreads < 1) {
+            throw new IllegalArgumentException("scanThreads must be at least 1: " + scanThreads);
+        }
+        BlockingQueue<Object> queue = new ArrayBlockingQueue<>(bufferSize);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(totalSegments, scanThreads), new ThreadFactoryBuilder()
+                .setNameFormat(getTableName() + "-scan-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            for (int i = 0; i < totalSegments; i++) {
+                int segment = i;
+                executor.execute(() -> scanSegment(segment, totalSegments, queue));
+            }
+            int completed = 0;
+            while (completed < totalSegments) {
+                Object next = queue.take();
+                if (next == SEGMENT_COMPLETE) {
+                    completed++;
+                } else if (next instanceof SegmentFailure) {
+                    Throwable cause = ((SegmentFailure)next).cause;
+                    Throwables.throwIfUnchecked(cause);
+                    throw new IllegalStateException(cause);
+                } else {
+                    @SuppressWarnings("unchecked")
+                    M model = (M)next;
+                    consumer.accept(model);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during parallel scan: " + getTableName(), e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Create the scan request for one segment of a parallel scan.
+     * @param segment   segment number
+     * @param totalSegments total number of segments
+     * @return  scan request
+     */
+    protected ScanRequest toSegmentScanRequest(int segment, int totalSegments) {
+        return new ScanRequest(getTableName())
+                .withSegment(segment)
+                .withTotalSegments(totalSegments);
+    }
+
+    private void scanSegment(int segment, int totalSegments, BlockingQueue<Object> queue) {
+        try {
+            Object outcome = SEGMENT_COMPLETE;
+            try {
+                Iterator<Map<String,AttributeValue>> attributes = scanAttributes(toSegmentScanRequest(segment, totalSegments));
+                while (attributes.hasNext()) {
+                    queue.put(modelMapper.toObject(attributes.next()));
+                }
+            } catch (RuntimeException | Error e) {
+                outcome = new SegmentFailure(e);
+            }
+            queue.put(outcome);
+        } catch (InterruptedException e) {
+            // the scan has been cancelled
+        }
+    }
+
+    private void checkTotalSegments(int totalSegments) {
+        if (totalSegments < 1 || totalSegments > MAX_SCAN_SEGMENTS) {
+            throw new IllegalArgumentException("totalSegments must be between 1 and " + MAX_SCAN_SEGMENTS + ": " + totalSegments);
+        }
+    }
+
     /**
      * Scan the table, given a spec containing conditions. Intended to be called by wrapper methods in subclass.
      * @param spec  spec for the scan
@@ -252,6 +635,165 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return Results.of(results);
     }
 
+    /**
+     * Scan the table one page at a time. Intended to be called by wrapper methods in subclass.
+     * @param spec  spec for the scan; its page size and exclusive start key are overwritten
+     * @param pageSize  maximum number of results to return
+     * @param cursor    cursor returned as the next value of the previous page, or null to start at the beginning
+     * @return  results containing up to pageSize objects, and a cursor to the next page if there may be more
+     */
+    protected Results<M,String> scan(ScanSpec spec, int pageSize, String cursor) {
+        checkPageSize(pageSize);
+        List<M> results = new ArrayList<>();
+        Map<String,AttributeValue> lastKey = decodeCursor(cursor);
+        do {
+            // asking only for as many items as are still needed means the last key always matches the last item
+            ItemCollection<ScanOutcome> items = getTable().scan(spec
+                    .withMaxPageSize(pageSize - results.size())
+                    .withExclusiveStartKey(toKeyAttributes(lastKey)));
+            Page<Item,ScanOutcome> page = items.firstPage();
+            for (Item item : page) {
+                results.add(modelMapper.toObject(item));
+            }
+            lastKey = page.getLowLevelResult().getScanResult().getLastEvaluatedKey();
+        } while (results.size() < pageSize && lastKey != null && !lastKey.isEmpty());
+        return Results.of(results, encodeCursor(lastKey));
+    }
+
+    /**
+     * Query a particular index one page at a time, so that arbitrarily large partitions can be traversed with
+     * bounded memory. Pages always contain pageSize objects unless the query is exhausted, even when a filter
+     * expression discards items. The final page may be followed by an empty page, since DynamoDB cannot tell that
+     * no more items remain until it looks.
+     * @param indexName name of the index to search
+     * @param spec  spec for the query; its page size and exclusive start key are overwritten
+     * @param pageSize  maximum number of results to return
+     * @param cursor    cursor returned as the next value of the previous page, or null to start at the beginning
+     * @return  results containing up to pageSize objects, and a cursor to the next page if there may be more
+     */
+    protected Results<M,String> findByIndex(String indexName, QuerySpec spec, int pageSize, String cursor) {
+        checkPageSize(pageSize);
+        Index index = getTable().getIndex(indexName);
+        List<M> results = new ArrayList<>();
+        Map<String,AttributeValue> lastKey = decodeCursor(cursor);
+        do {
+            ItemCollection<QueryOutcome> items = index.query(spec
+                    .withMaxPageSize(pageSize - results.size())
+                    .withExclusiveStartKey(toKeyAttributes(lastKey)));
+            Page<Item,QueryOutcome> page = items.firstPage();
+            for (Item item : page) {
+                results.add(modelMapper.toObject(item));
+            }
+            lastKey = page.getLowLevelResult().getQueryResult().getLastEvaluatedKey();
+        } while (results.size() < pageSize && lastKey != null && !lastKey.isEmpty());
+        return Results.of(results, encodeCursor(lastKey));
+    }
+
+    /**
+     * Encode a LastEvaluatedKey as an opaque, URL-safe cursor. Attribute types are preserved, so numeric and binary
+     * keys survive the round trip.
+     * @param lastKey   last evaluated key, or null
+     * @return  cursor, or null if there is no last evaluated key
+     */
+    protected String encodeCursor(Map<String,AttributeValue> lastKey) {
+        if (lastKey == null || lastKey.isEmpty()) {
+            return null;
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(CURSOR_MAPPER.writeValueAsBytes(toKeyNode(lastKey)));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Decode a cursor created by encodeCursor().
+     * @param cursor    cursor, or null
+     * @return  last evaluated key, or null if the cursor is null
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    protected Map<String,AttributeValue> decodeCursor(String cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        Map<String,AttributeValue> lastKey;
+        try {
+            lastKey = fromKeyNode(CURSOR_MAPPER.readTree(Base64.getUrlDecoder().decode(cursor)));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (lastKey.isEmpty()) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return lastKey;
+    }
+
+    /**
+     * Convert a key, such as a LastEvaluatedKey, to JSON in which every attribute is tagged with its type, e.g.
+     * {"id":{"N":"5"}}, so that numeric and binary keys can be read back exactly.
+     * @param key   key attributes
+     * @return  JSON object
+     * @throws IllegalArgumentException if an attribute is not a string, number or binary
+     */
+    public static ObjectNode toKeyNode(Map<String,AttributeValue> key) {
+        ObjectNode node = CURSOR_MAPPER.createObjectNode();
+        for (Map.Entry<String,AttributeValue> entry : key.entrySet()) {
+            AttributeValue value = entry.getValue();
+            if (value.getS() != null) {
+                node.putObject(entry.getKey()).put("S", value.getS());
+            } else if (value.getN() != null) {
+                node.putObject(entry.getKey()).put("N", value.getN());
+            } else if (value.getB() != null) {
+                node.putObject(entry.getKey()).put("B", BinaryUtils.copyAllBytesFrom(value.getB()));
+            } else {
+                throw new IllegalArgumentException("Unsupported key attribute type: " + entry.getKey() + "=" + value);
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Read a key written by toKeyNode().
+     * @param node  JSON object
+     * @return  key attributes
+     * @throws IllegalArgumentException if an attribute has no S, N or B value
+     */
+    public static Map<String,AttributeValue> fromKeyNode(JsonNode node) {
+        Map<String,AttributeValue> key = new LinkedHashMap<>();
+        Iterator<Map.Entry<String,JsonNode>> fields = node != null ? node.fields() : Collections.emptyIterator();
+        while (fields.hasNext()) {
+            Map.Entry<String,JsonNode> field = fields.next();
+            JsonNode value = field.getValue();
+            if (value.hasNonNull("S")) {
+                key.put(field.getKey(), new AttributeValue().withS(value.get("S").asText()));
+            } else if (value.hasNonNull("N")) {
+                key.put(field.getKey(), new AttributeValue().withN(value.get("N").asText()));
+            } else if (value.hasNonNull("B")) {
+                key.put(field.getKey(), new AttributeValue().withB(ByteBuffer.wrap(Base64.getDecoder().decode(value.get("B").asText()))));
+            } else {
+                throw new IllegalArgumentException("Unsupported key attribute: " + field.getKey() + "=" + value);
+            }
+        }
+        return key;
+    }
+
+    private KeyAttribute[] toKeyAttributes(Map<String,AttributeValue> key) {
+        if (key == null) {
+            return null;
+        }
+        List<KeyAttribute> attributes = new ArrayList<>();
+        for (Map.Entry<String,AttributeValue> entry : key.entrySet()) {
+            attributes.add(new KeyAttribute(entry.getKey(), ItemUtils.toSimpleValue(entry.getValue())));
+        }
+        return attributes.toArray(new KeyAttribute[0]);
+    }
+
+    private void checkPageSize(int pageSize) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1: " + pageSize);
+        }
+    }
+
     /**
      * Check whether a field is unique by querying an index
      * @param indexName name of the index to search
@@ -303,6 +845,94 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return model;
     }
 
+    /**
+     * Create multiple objects using BatchWriteItem requests of up to BATCH_WRITE_SIZE items each. A batch write
+     * cannot be conditional, so the ids are checked with BatchGetItem first, and an object whose id already exists,
+     * or repeats an earlier object in the same call, is reported as a failure instead of overwriting it. The check
+     * is not atomic with the write, so an object created concurrently by another writer may still be overwritten.
+     * @param partials  partial model objects to create
+     * @param createAt  timestamp of the creation
+     * @param creatorId id of the creator
+     * @return  one result per object, in order, containing the created object
+     * @throws IllegalStateException    if ids remain unchecked after MAX_BATCH_GET_RETRIES retries
+     */
+    @Override
+    public List<WriteResult<M>> createAll(Iterable<P> partials, Instant createAt, I creatorId) {
+        List<M> models = new ArrayList<>();
+        List<WriteRequest> requests = new ArrayList<>();
+        for (P partial : partials) {
+            Item item = toCreateItem(partial, createAt, creatorId);
+            models.add(modelMapper.toObject(item));
+            requests.add(new WriteRequest(new PutRequest(ItemUtils.toAttributeValues(item))));
+        }
+        if (getFieldData().getId() == null) {
+            return batchWrite(requests, models);
+        }
+
+        List<Map<String,AttributeValue>> keys = new ArrayList<>();
+        for (WriteRequest request : requests) {
+            keys.add(toKeyAttributes(request));
+        }
+        Set<Map<String,AttributeValue>> existingKeys = findExistingKeys(keys);
+        boolean[] exists = new boolean[requests.size()];
+        List<WriteRequest> newRequests = new ArrayList<>();
+        List<M> newModels = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            exists[i] = !existingKeys.add(keys.get(i));
+            if (!exists[i]) {
+                newRequests.add(requests.get(i));
+                newModels.add(models.get(i));
+            }
+        }
+        if (newRequests.size() == requests.size()) {
+            return batchWrite(requests, models);
+        }
+
+        Iterator<WriteResult<M>> newResults = batchWrite(newRequests, newModels).iterator();
+        ImmutableList.Builder<WriteResult<M>> results = ImmutableList.builder();
+        for (int i = 0; i < requests.size(); i++) {
+            results.add(exists[i] ? WriteResult.failure(models.get(i), "id already exists") : newResults.next());
+        }
+        return results.build();
+    }
+
+    /**
+     * Find which of the given primary keys exist in the table, using BatchGetItem requests of up to BATCH_GET_SIZE
+     * keys each that project only the key attributes.
+     * @param keys  primary keys, as attribute values
+     * @return  the keys that exist
+     * @throws IllegalStateException    if keys remain unprocessed after MAX_BATCH_GET_RETRIES retries
+     */
+    protected Set<Map<String,AttributeValue>> findExistingKeys(Collection<Map<String,AttributeValue>> keys) {
+        Map<String,String> names = new HashMap<>();
+        StringJoiner projection = new StringJoiner(",");
+        for (KeySchemaElement element : getKeySchema()) {
+            names.put("#" + element.getAttributeName(), element.getAttributeName());
+            projection.add("#" + element.getAttributeName());
+        }
+        Set<Map<String,AttributeValue>> existing = new HashSet<>();
+        for (List<Map<String,AttributeValue>> batch : Lists.partition(new ArrayList<>(new LinkedHashSet<>(keys)), BATCH_GET_SIZE)) {
+            Map<String,KeysAndAttributes> requestItems = ImmutableMap.of(getTableName(), new KeysAndAttributes()
+                    .withKeys(batch)
+                    .withProjectionExpression(projection.toString())
+                    .withExpressionAttributeNames(names));
+            for (int attempt = 0; ; attempt++) {
+                BatchGetItemResult result = db.batchGetItem(new BatchGetItemRequest().withRequestItems(requestItems));
+                existing.addAll(result.getResponses().getOrDefault(getTableName(), ImmutableList.of()));
+                requestItems = result.getUnprocessedKeys();
+                if (requestItems == null || requestItems.isEmpty()) {
+                    break;
+                }
+                if (attempt >= MAX_BATCH_GET_RETRIES) {
+                    throw new IllegalStateException("Unable to read " + requestItems.get(getTableName()).getKeys().size()
+                            + " items from " + getTableName() + " after " + MAX_BATCH_GET_RETRIES + " retries");
+                }
+                backoff(attempt);
+            }
+        }
+        return existing;
+    }
+
     /**
      * Return a DynamoDB item from a partial, possibly adding timestamp and user id fields
      * @param partial   partial to convert to an item
@@ -379,74 +1009,117 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
      * @return  spec containing the DynamoDB update
      */
     protected UpdateItemSpec toUpdateItemSpec(K id, Update<P> update, Instant updateAt, I updaterId) {
-        String updateExpression = "";
-        NameMap nameMap = new NameMap();
-        ValueMap valueMap = new ValueMap();
-
-        Item setFields = partialMapper.toItem(update.getPartial());
-        Map<String,Object> set = new LinkedHashMap<>();
-        for (String field : update.getSetFields()) {
-            set.put(field, setFields.get(field));
-        }
-
-        // add the @UpdatedBy and @UpdatedAt fields
         Field updatedByField = getFieldData().getUpdatedBy();
-        if (updatedByField != null && updaterId != null) {
-            set.put(updatedByField.getStorageName(), toStorageValue(updaterId));
-        }
         Field updatedAtField = getFieldData().getUpdatedAt();
-        if (updatedAtField != null && updateAt != null) {
-            set.put(updatedAtField.getStorageName(), toStorageValue(updateAt));
-        }
+        boolean setUpdatedBy = updatedByField != null && updaterId != null;
+        boolean setUpdatedAt = updatedAtField != null && updateAt != null;
+        UpdateTemplate template = getUpdateTemplate(update.getSetFields(), update.getRemoveFields(), setUpdatedBy, setUpdatedAt);
 
-        for (Map.Entry<String,Object> e : set.entrySet()) {
-            String key = e.getKey();
-            nameMap.put("#" + key, key);
-            valueMap.put(":" + key, toStorageValue(e.getValue()));
-            updateExpression += "#" + key + " = :" + key + ", ";
+        ValueMap valueMap = new ValueMap();
+        if (!template.setStorageNames.isEmpty()) {
+            Item setFields = partialMapper.toItem(update.getPartial(), update.getSetFields());
+            for (String storageName : template.setStorageNames) {
+                valueMap.put(":" + storageName, toStorageValue(setFields.get(storageName)));
+            }
         }
-        if (updateExpression.length() > 0) {
-            updateExpression = "SET " + updateExpression.substring(0, updateExpression.length()-2);
+        // add the @UpdatedBy and @UpdatedAt fields
+        if (setUpdatedBy) {
+            valueMap.put(":" + updatedByField.getStorageName(), toStorageValue(updaterId));
         }
-
-        if (update.getRemoveFields().size() > 0) {
-            updateExpression += " REMOVE ";
-            for (String key : update.getRemoveFields()) {
-                nameMap.put("#" + key, key);
-                updateExpression += "#" + key + ", ";
-            }
-            updateExpression = updateExpression.substring(0, updateExpression.length()-2);
+        if (setUpdatedAt) {
+            valueMap.put(":" + updatedAtField.getStorageName(), toStorageValue(updateAt));
         }
+
         UpdateItemSpec spec = new UpdateItemSpec()
                 .withPrimaryKey(toPrimaryKey(id))
-                .withUpdateExpression(updateExpression)
-                .withNameMap(nameMap);
+                .withUpdateExpression(template.updateExpression)
+                .withNameMap(template.nameMap);
         if (!valueMap.isEmpty()) {
             spec = spec.withValueMap(valueMap);
         }
         return spec;
     }
 
-    public Update<P> updateOf(P partial) {
-        ImmutableSet.Builder<String> attribs = ImmutableSet.builder();
-        if (partial != null) {
-            Item item = partialMapper.toItem(partial);
-            for (Map.Entry<String, Object> attr : item.attributes()) {
-                attribs.add(attr.getKey());
+    /**
+     * Return the compiled update expression and name map for a combination of set and remove fields, compiling it the
+     * first time the combination is seen. Updates tend to touch a small, recurring set of field combinations, so up to
+     * MAX_UPDATE_TEMPLATES templates are cached, leaving only the values to bind for each update.
+     * @param setFields fields to set
+     * @param removeFields  fields to remove
+     * @param setUpdatedBy  whether the @UpdatedBy field is set
+     * @param setUpdatedAt  whether the @UpdatedAt field is set
+     * @return  update template
+     */
+    private UpdateTemplate getUpdateTemplate(Set<String> setFields, Set<String> removeFields, boolean setUpdatedBy, boolean setUpdatedAt) {
+        List<Object> key = ImmutableList.of(ImmutableSet.copyOf(setFields), ImmutableSet.copyOf(removeFields), setUpdatedBy, setUpdatedAt);
+        return updateTemplates.asMap().computeIfAbsent(key, k -> {
+            Set<String> setStorageNames = new LinkedHashSet<>();
+            for (String field : setFields) {
+                setStorageNames.add(toStorageName(field));
             }
-        }
-        return Update.of(partial, attribs.build());
+            Set<String> setNames = new LinkedHashSet<>(setStorageNames);
+            if (setUpdatedBy) {
+                setNames.add(getFieldData().getUpdatedBy().getStorageName());
+            }
+            if (setUpdatedAt) {
+                setNames.add(getFieldData().getUpdatedAt().getStorageName());
+            }
+
+            Map<String,String> nameMap = new LinkedHashMap<>();
+            StringBuilder updateExpression = new StringBuilder();
+            StringJoiner set = new StringJoiner(", ", "SET ", "").setEmptyValue("");
+            for (String storageName : setNames) {
+                nameMap.put("#" + storageName, storageName);
+                set.add("#" + storageName + " = :" + storageName);
+            }
+            updateExpression.append(set);
+            if (!removeFields.isEmpty()) {
+                StringJoiner remove = new StringJoiner(", ", " REMOVE ", "");
+                for (String field : removeFields) {
+                    String storageName = toStorageName(field);
+                    nameMap.put("#" + storageName, storageName);
+                    remove.add("#" + storageName);
+                }
+                updateExpression.append(remove);
+            }
+            return new UpdateTemplate(updateExpression.toString(), ImmutableMap.copyOf(nameMap), ImmutableList.copyOf(setStorageNames));
+        });
+    }
+
+    private String toStorageName(String fieldName) {
+        Field field = getFieldData().getMap().get(fieldName);
+        return field != null ? field.getStorageName() : fieldName;
+    }
+
+    public Update<P> updateOf(P partial) {
+        return Update.of(partial, toSetFieldNames(partial));
     }
 
     public Update<P> updateOf(P partial, Iterable<String> removeFields) {
-        ImmutableSet.Builder<String> attribs = ImmutableSet.builder();
-        if (partial != null) {
-            Item item = partialMapper.toItem(partial);
-            for (Map.Entry<String, Object> attr : item.attributes()) {
-                attribs.add(attr.getKey());
+        return Update.of(partial, toSetFieldNames(partial), ImmutableSet.copyOf(removeFields));
+    }
+
+    /**
+     * Return the model names of the fields that a partial has values for. A mapper may return storage names instead
+     * (the default ItemMapper does), so those are mapped back to model names, and updateOf() means the same whichever
+     * mapper is used.
+     */
+    private Set<String> toSetFieldNames(P partial) {
+        Map<String,Field> fields = getFieldData().getMap();
+        ImmutableSet.Builder<String> names = ImmutableSet.builder();
+        for (String name : partialMapper.toFieldNames(partial)) {
+            names.add(fields.containsKey(name) ? name : toModelName(name));
+        }
+        return names.build();
+    }
+
+    private String toModelName(String storageName) {
+        for (Field field : getFieldData().getMap().values()) {
+            if (field.getStorageName().equals(storageName)) {
+                return field.getName();
             }
         }
-        return Update.of(partial, attribs.build(), ImmutableSet.copyOf(removeFields));
+        return storageName;
     }
 
     /**
@@ -460,6 +1133,107 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         getTable().deleteItem(spec);
     }
 
+    /**
+     * Delete multiple objects by id, using BatchWriteItem requests of up to BATCH_WRITE_SIZE keys each. DynamoDB
+     * rejects a batch that names the same key twice, so each distinct id is deleted once, and repeated ids share the
+     * result of that delete.
+     * @param ids   object ids
+     * @return  one result per id, in order
+     */
+    @Override
+    public List<WriteResult<K>> deleteAll(Collection<K> ids) {
+        List<K> uniqueIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<WriteRequest> requests = new ArrayList<>();
+        for (K id : uniqueIds) {
+            Item key = new Item().withPrimaryKey(toPrimaryKey(id));
+            requests.add(new WriteRequest(new DeleteRequest(ItemUtils.toAttributeValues(key))));
+        }
+        List<WriteResult<K>> results = batchWrite(requests, uniqueIds);
+        if (uniqueIds.size() == ids.size()) {
+            return results;
+        }
+        Map<K,WriteResult<K>> resultsById = new HashMap<>();
+        for (WriteResult<K> result : results) {
+            resultsById.put(result.getValue(), result);
+        }
+        ImmutableList.Builder<WriteResult<K>> allResults = ImmutableList.builder();
+        for (K id : ids) {
+            allResults.add(resultsById.get(id));
+        }
+        return allResults.build();
+    }
+
+    /**
+     * Perform writes as a series of BatchWriteItem requests, retrying unprocessed items with exponential backoff
+     * and reporting the outcome of each write individually. A request whose key repeats one in the current batch
+     * starts a new batch, since DynamoDB rejects a batch that names the same key twice. Items still unprocessed after
+     * MAX_BATCH_WRITE_RETRIES retries are reported as failures.
+     * @param requests  write requests to perform
+     * @param values    value to report in the result for each request, matched by position
+     * @return  one result per request, in order
+     */
+    protected <T> List<WriteResult<T>> batchWrite(List<WriteRequest> requests, List<T> values) {
+        Map<Integer,String> errors = new HashMap<>();
+        Set<Map<String,AttributeValue>> batchKeys = new HashSet<>();
+        int start = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            Map<String,AttributeValue> key = toKeyAttributes(requests.get(i));
+            // a batch may not contain the same key twice, so write out the earlier request first
+            if (i - start == BATCH_WRITE_SIZE || !batchKeys.add(key)) {
+                writeBatchRange(requests, start, i, errors);
+                start = i;
+                batchKeys.clear();
+                batchKeys.add(key);
+            }
+        }
+        if (start < requests.size()) {
+            writeBatchRange(requests, start, requests.size(), errors);
+        }
+
+        ImmutableList.Builder<WriteResult<T>> results = ImmutableList.builder();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = errors.get(i);
+            results.add(error == null ? WriteResult.success(values.get(i)) : WriteResult.failure(values.get(i), error));
+        }
+        return results.build();
+    }
+
+    /**
+     * Write the requests from start (inclusive) to end (exclusive) in one BatchWriteItem request, recording an error
+     * for each request that fails.
+     */
+    private void writeBatchRange(List<WriteRequest> requests, int start, int end, Map<Integer,String> errors) {
+        try {
+            List<WriteRequest> unprocessed = writeBatch(db, getTableName(), requests.subList(start, end), null);
+            if (!unprocessed.isEmpty()) {
+                Set<Map<String,AttributeValue>> unprocessedKeys = new HashSet<>();
+                for (WriteRequest request : unprocessed) {
+                    unprocessedKeys.add(toKeyAttributes(request));
+                }
+                for (int i = start; i < end; i++) {
+                    if (unprocessedKeys.contains(toKeyAttributes(requests.get(i)))) {
+                        errors.put(i, "unprocessed after " + MAX_BATCH_WRITE_RETRIES + " retries");
+                    }
+                }
+            }
+        } catch (RuntimeException e) {
+            for (int i = start; i < end; i++) {
+                errors.put(i, e.toString());
+            }
+        }
+    }
+
+    private Map<String,AttributeValue> toKeyAttributes(WriteRequest request) {
+        Map<String,AttributeValue> attributes = request.getPutRequest() != null
+                ? request.getPutRequest().getItem()
+                : request.getDeleteRequest().getKey();
+        Map<String,AttributeValue> key = new HashMap<>();
+        for (KeySchemaElement element : getKeySchema()) {
+            key.put(element.getAttributeName(), attributes.get(element.getAttributeName()));
+        }
+        return key;
+    }
+
     /**
      * Get the primary key schema definition for this table. You must override this in the subclass.
      * @return  list defining the key schema
@@ -517,14 +1291,144 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     }
 
     /**
-     * Copy all data from a source database and table into this table.
+     * Copy all data from a source database and table into this table, using the default CopyTableOptions.
      * @param sourceDb  source database connection
      * @param sourceTable   source table name
      */
     public void copyTable(AmazonDynamoDB sourceDb, String sourceTable) {
-        for (Item item : new DynamoDB(sourceDb).getTable(sourceTable).scan()) {
-            getTable().putItem(item);
+        copyTable(sourceDb, sourceTable, CopyTableOptions.builder().build());
+    }
+
+    /**
+     * Copy all data from a source database and table into this table. The source is read with a parallel scan, whose
+     * segments are shared out among a fixed pool of scan threads, and each page is split into BatchWriteItem requests of BATCH_WRITE_SIZE items, which are written by a separate
+     * pool of writers; unprocessed items are retried with exponential backoff. Reads and writes are each held to
+     * their own capacity budget, paid for with the capacity each request reports having consumed. Progress is
+     * logged, and passed to the progress listener if there is one, every progress interval and at the end.
+     * @param sourceDb  source database connection
+     * @param sourceTable   source table name
+     * @param options   options controlling parallelism, rate limits and progress reporting
+     * @return  number of items copied
+     * @throws IllegalStateException    if items remain unprocessed after MAX_BATCH_WRITE_RETRIES retries
+     */
+    public long copyTable(AmazonDynamoDB sourceDb, String sourceTable, CopyTableOptions options) {
+        int totalSegments = options.getTotalSegments();
+        checkTotalSegments(totalSegments);
+        RateLimiter readLimiter = toRateLimiter(options.getReadCapacityPerSecond());
+        RateLimiter writeLimiter = toRateLimiter(options.getWriteCapacityPerSecond());
+        CopyProgress progress = new CopyProgress(sourceTable, options.getProgressListener());
+
+        // segments wait in the pool's queue for one of the scan threads
+        ExecutorService scanners = Executors.newFixedThreadPool(Math.min(totalSegments, options.getScanThreads()), new ThreadFactoryBuilder()
+                .setNameFormat(getTableName() + "-copy-scan-%d")
+                .setDaemon(true)
+                .build());
+        ExecutorService writers = Executors.newFixedThreadPool(options.getWriteThreads(), new ThreadFactoryBuilder()
+                .setNameFormat(getTableName() + "-copy-write-%d")
+                .setDaemon(true)
+                .build());
+        // bound the batches waiting for a writer, so the scans never run far ahead of the writes
+        int maxInFlight = options.getWriteThreads() * 2;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < totalSegments; i++) {
+                int segment = i;
+                futures.add(scanners.submit(() -> {
+                    copySegment(sourceDb, sourceTable, segment, totalSegments, readLimiter, writeLimiter, writers,
+                            inFlight, progress);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                while (true) {
+                    try {
+                        future.get(options.getProgressIntervalMillis(), TimeUnit.MILLISECONDS);
+                        break;
+                    } catch (TimeoutException e) {
+                        progress.report();
+                    }
+                }
+            }
+            inFlight.acquire(maxInFlight);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while copying " + sourceTable + " to " + getTableName(), e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            scanners.shutdownNow();
+            writers.shutdownNow();
+        }
+        Throwable failure = progress.failure.get();
+        if (failure != null) {
+            Throwables.throwIfUnchecked(failure);
+            throw new IllegalStateException(failure);
+        }
+        progress.report();
+        return progress.written.get();
+    }
+
+    private void copySegment(AmazonDynamoDB sourceDb, String sourceTable, int segment, int totalSegments,
+                             RateLimiter readLimiter, RateLimiter writeLimiter, ExecutorService writers,
+                             Semaphore inFlight, CopyProgress progress) throws InterruptedException {
+        if (progress.failure.get() != null) {
+            return;
+        }
+        Map<String,AttributeValue> lastKey = null;
+        do {
+            ScanResult result = sourceDb.scan(new ScanRequest(sourceTable)
+                    .withSegment(segment)
+                    .withTotalSegments(totalSegments)
+                    .withExclusiveStartKey(lastKey)
+                    .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+            acquireCapacity(readLimiter, result.getConsumedCapacity(), 1);
+            progress.read.addAndGet(result.getItems().size());
+
+            for (List<Map<String,AttributeValue>> items : Lists.partition(result.getItems(), BATCH_WRITE_SIZE)) {
+                List<WriteRequest> batch = new ArrayList<>(items.size());
+                for (Map<String,AttributeValue> item : items) {
+                    batch.add(new WriteRequest(new PutRequest(item)));
+                }
+                inFlight.acquire();
+                if (progress.failure.get() != null) {
+                    inFlight.release();
+                    return;
+                }
+                writers.execute(() -> {
+                    try {
+                        List<WriteRequest> unprocessed = writeBatch(db, getTableName(), batch, writeLimiter);
+                        if (!unprocessed.isEmpty()) {
+                            throw new IllegalStateException("Unable to write " + unprocessed.size() + " items to "
+                                    + getTableName() + " after " + MAX_BATCH_WRITE_RETRIES + " retries");
+                        }
+                        progress.written.addAndGet(batch.size());
+                    } catch (Throwable e) {
+                        progress.failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            lastKey = result.getLastEvaluatedKey() == null || result.getLastEvaluatedKey().isEmpty()
+                    ? null : result.getLastEvaluatedKey();
+        } while (lastKey != null);
+    }
+
+    private RateLimiter toRateLimiter(double capacityUnitsPerSecond) {
+        return capacityUnitsPerSecond > 0 ? RateLimiter.create(capacityUnitsPerSecond) : null;
+    }
+
+    /**
+     * Pay for the capacity a request consumed, falling back to an estimate if the capacity was not reported.
+     */
+    private static void acquireCapacity(RateLimiter limiter, ConsumedCapacity consumed, int estimate) {
+        if (limiter == null) {
+            return;
         }
+        double units = consumed != null && consumed.getCapacityUnits() != null ? consumed.getCapacityUnits() : estimate;
+        limiter.acquire(Math.max(1, (int)Math.ceil(units)));
     }
 
     /**
@@ -604,4 +1508,55 @@ public abstract class AbstractDynamoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         }
         return false;
     }
+
+    private static final Object SEGMENT_COMPLETE = new Object();
+
+    private static class UpdateTemplate {
+        private final String updateExpression;
+        private final Map<String,String> nameMap;
+        private final List<String> setStorageNames;
+
+        private UpdateTemplate(String updateExpression, Map<String,String> nameMap, List<String> setStorageNames) {
+            this.updateExpression = updateExpression;
+            this.nameMap = nameMap;
+            this.setStorageNames = setStorageNames;
+        }
+    }
+
+    /**
+     * Counters shared by the scanners and writers of a table copy.
+     */
+    private class CopyProgress {
+        private final String sourceTable;
+        private final CopyTableOptions.ProgressListener listener;
+        private final long startNanos = System.nanoTime();
+        private final AtomicLong read = new AtomicLong();
+        private final AtomicLong written = new AtomicLong();
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        private CopyProgress(String sourceTable, CopyTableOptions.ProgressListener listener) {
+            this.sourceTable = sourceTable;
+            this.listener = listener;
+        }
+
+        private void report() {
+            long readCount = read.get();
+            long writtenCount = written.get();
+            double seconds = Math.max(1, System.nanoTime() - startNanos) / 1e9;
+            double itemsPerSecond = writtenCount / seconds;
+            LOGGER.info(String.format("Copying %s to %s: %d items read, %d written (%.1f items/s)",
+                    sourceTable, getTableName(), readCount, writtenCount, itemsPerSecond));
+            if (listener != null) {
+                listener.onProgress(readCount, writtenCount, itemsPerSecond);
+            }
+        }
+    }
+
+    private static class SegmentFailure {
+        private final Throwable cause;
+
+        private SegmentFailure(Throwable cause) {
+            this.cause = cause;
+        }
+    }
 }
@@ -0,0 +1,155 @@
+package io.stardog.stardao.dynamodb;
+
+import com.amazonaws.AmazonWebServiceRequest;
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.document.spec.UpdateItemSpec;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.DeleteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.ReturnValue;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.google.common.collect.ImmutableMap;
+import io.stardog.stardao.core.AsyncDao;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.exceptions.DataNotFoundException;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking DynamoDB Dao, backed by the AWS SDK async client. It delegates field data, item mapping, and
+ * create/update expression building to a regular AbstractDynamoDao, so objects are stored exactly as the synchronous
+ * Dao would store them.
+ */
+public class AsyncDynamoDao<M,P,K,I> implements AsyncDao<M,P,K> {
+    private final AbstractDynamoDao<M,P,K,I> dao;
+    private final AmazonDynamoDBAsync db;
+
+    public AsyncDynamoDao(AbstractDynamoDao<M,P,K,I> dao, AmazonDynamoDBAsync db) {
+        this.dao = dao;
+        this.db = db;
+    }
+
+    public AbstractDynamoDao<M,P,K,I> getDao() {
+        return dao;
+    }
+
+    @Override
+    public CompletableFuture<M> load(K id) {
+        return loadOpt(id).thenApply(model -> model
+                .orElseThrow(() -> new DataNotFoundException(dao.getDisplayModelName() + " not found: " + id)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<M>> loadOpt(K id) {
+        GetItemRequest request = new GetItemRequest()
+                .withTableName(dao.getTableName())
+                .withKey(toKey(id));
+        CompletableFuture<GetItemResult> future = new CompletableFuture<>();
+        db.getItemAsync(request, complete(future));
+        return future.thenApply(result -> Optional.ofNullable(dao.getModelMapper().toObject(result.getItem())));
+    }
+
+    @Override
+    public CompletableFuture<M> create(P partial) {
+        return create(partial, Instant.now(), null);
+    }
+
+    public CompletableFuture<M> create(P partial, Instant createAt, I creatorId) {
+        Item item = dao.toCreateItem(partial, createAt, creatorId);
+        PutItemRequest request = new PutItemRequest()
+                .withTableName(dao.getTableName())
+                .withItem(ItemUtils.toAttributeValues(item));
+        if (dao.getFieldData().getId() != null) {
+            request = request.withConditionExpression("attribute_not_exists(#id)")
+                    .withExpressionAttributeNames(ImmutableMap.of("#id", dao.getFieldData().getId().getStorageName()));
+        }
+        M model = dao.getModelMapper().toObject(item);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        db.putItemAsync(request, complete(future));
+        return future.thenApply(result -> model);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(K id, Update<P> update) {
+        return update(id, update, Instant.now(), null);
+    }
+
+    public CompletableFuture<Void> update(K id, Update<P> update, Instant updateAt, I updaterId) {
+        UpdateItemRequest request = toUpdateItemRequest(id, update, updateAt, updaterId);
+        CompletableFuture<UpdateItemResult> future = new CompletableFuture<>();
+        db.updateItemAsync(request, complete(future));
+        return future.thenApply(result -> null);
+    }
+
+    @Override
+    public CompletableFuture<M> updateAndReturn(K id, Update<P> update) {
+        return updateAndReturn(id, update, Instant.now(), null);
+    }
+
+    public CompletableFuture<M> updateAndReturn(K id, Update<P> update, Instant updateAt, I updaterId) {
+        UpdateItemRequest request = toUpdateItemRequest(id, update, updateAt, updaterId)
+                .withReturnValues(ReturnValue.ALL_OLD);
+        CompletableFuture<UpdateItemResult> future = new CompletableFuture<>();
+        db.updateItemAsync(request, complete(future));
+        return future.thenApply(result -> dao.getModelMapper().toObject(
+                result.getAttributes() != null ? result.getAttributes() : ImmutableMap.of()));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(K id) {
+        DeleteItemRequest request = new DeleteItemRequest()
+                .withTableName(dao.getTableName())
+                .withKey(toKey(id));
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        db.deleteItemAsync(request, complete(future));
+        return future.thenApply(result -> null);
+    }
+
+    /**
+     * Convert the UpdateItemSpec built by the synchronous Dao into a low-level UpdateItemRequest.
+     * @param id    id of object
+     * @param update    update data
+     * @param updateAt    timestamp of update
+     * @param updaterId    user id of updater
+     * @return  request containing the DynamoDB update
+     */
+    protected UpdateItemRequest toUpdateItemRequest(K id, Update<P> update, Instant updateAt, I updaterId) {
+        UpdateItemSpec spec = dao.toUpdateItemSpec(id, update, updateAt, updaterId);
+        UpdateItemRequest request = new UpdateItemRequest()
+                .withTableName(dao.getTableName())
+                .withKey(toKey(id))
+                .withUpdateExpression(spec.getUpdateExpression())
+                .withExpressionAttributeNames(spec.getNameMap());
+        if (spec.getValueMap() != null) {
+            request = request.withExpressionAttributeValues(ItemUtils.fromSimpleMap(spec.getValueMap()));
+        }
+        return request;
+    }
+
+    private Map<String,AttributeValue> toKey(K id) {
+        return ItemUtils.toAttributeValues(new Item().withPrimaryKey(dao.toPrimaryKey(id)));
+    }
+
+    private static <Q extends AmazonWebServiceRequest, R> AsyncHandler<Q,R> complete(CompletableFuture<? super R> future) {
+        return new AsyncHandler<Q,R>() {
+            @Override
+            public void onError(Exception e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onSuccess(Q request, R result) {
+                future.complete(result);
+            }
+        };
+    }
+}
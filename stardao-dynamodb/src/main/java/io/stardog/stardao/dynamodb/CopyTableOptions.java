@@ -0,0 +1,65 @@
+package io.stardog.stardao.dynamodb;
+
+import com.google.auto.value.AutoValue;
+import javax.annotation.Nullable;
+
+/**
+ * Options controlling how AbstractDynamoDao.copyTable() copies a table.
+ */
+@AutoValue
+public abstract class CopyTableOptions {
+    public static final int DEFAULT_TOTAL_SEGMENTS = 4;
+    public static final int DEFAULT_SCAN_THREADS = 4;
+    public static final int DEFAULT_WRITE_THREADS = 8;
+    public static final long DEFAULT_PROGRESS_INTERVAL_MILLIS = 10000;
+
+    /**
+     * Receives progress updates while a table is copied.
+     */
+    public interface ProgressListener {
+        /**
+         * @param itemsRead number of items scanned from the source table so far
+         * @param itemsWritten  number of items written to the destination table so far
+         * @param itemsPerSecond    average write throughput since the copy started
+         */
+        void onProgress(long itemsRead, long itemsWritten, double itemsPerSecond);
+    }
+
+    /** number of segments of the source table to scan concurrently */
+    public abstract int getTotalSegments();
+    /** maximum number of segments scanned at once; further segments wait for a free scan thread */
+    public abstract int getScanThreads();
+    /** number of threads issuing BatchWriteItem requests to the destination table */
+    public abstract int getWriteThreads();
+    /** read capacity budget on the source table, or 0 for no limit */
+    public abstract double getReadCapacityPerSecond();
+    /** write capacity budget on the destination table, or 0 for no limit */
+    public abstract double getWriteCapacityPerSecond();
+    /** how often progress is reported while the copy runs */
+    public abstract long getProgressIntervalMillis();
+    @Nullable
+    public abstract ProgressListener getProgressListener();
+
+    public abstract Builder toBuilder();
+    public static CopyTableOptions.Builder builder() {
+        return new AutoValue_CopyTableOptions.Builder()
+                .totalSegments(DEFAULT_TOTAL_SEGMENTS)
+                .scanThreads(DEFAULT_SCAN_THREADS)
+                .writeThreads(DEFAULT_WRITE_THREADS)
+                .readCapacityPerSecond(0)
+                .writeCapacityPerSecond(0)
+                .progressIntervalMillis(DEFAULT_PROGRESS_INTERVAL_MILLIS);
+    }
+
+    @AutoValue.Builder
+    public abstract static class Builder {
+        public abstract Builder totalSegments(int totalSegments);
+        public abstract Builder scanThreads(int scanThreads);
+        public abstract Builder writeThreads(int writeThreads);
+        public abstract Builder readCapacityPerSecond(double readCapacityPerSecond);
+        public abstract Builder writeCapacityPerSecond(double writeCapacityPerSecond);
+        public abstract Builder progressIntervalMillis(long progressIntervalMillis);
+        public abstract Builder progressListener(ProgressListener listener);
+        public abstract CopyTableOptions build();
+    }
+}
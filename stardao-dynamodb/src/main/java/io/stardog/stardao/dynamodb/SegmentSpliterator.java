@@ -0,0 +1,66 @@
+package io.stardog.stardao.dynamodb;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * A Spliterator over the segments of a DynamoDB parallel scan. Each spliterator covers a range of segment numbers
+ * and splits by handing half of its remaining segments to a new spliterator, so a parallel stream ends up scanning
+ * the segments concurrently. A segment is only scanned when the spliterator reaches it.
+ */
+public class SegmentSpliterator<T> implements Spliterator<T> {
+    private final IntFunction<Iterator<T>> segmentScanner;
+    private int nextSegment;
+    private int endSegment;
+    private Iterator<T> current;
+
+    /**
+     * @param segmentScanner    function returning an iterator over the records of a segment
+     * @param startSegment  first segment (inclusive)
+     * @param endSegment    last segment (exclusive)
+     */
+    public SegmentSpliterator(IntFunction<Iterator<T>> segmentScanner, int startSegment, int endSegment) {
+        this.segmentScanner = segmentScanner;
+        this.nextSegment = startSegment;
+        this.endSegment = endSegment;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action) {
+        while (current == null || !current.hasNext()) {
+            if (nextSegment >= endSegment) {
+                current = null;
+                return false;
+            }
+            current = segmentScanner.apply(nextSegment++);
+        }
+        action.accept(current.next());
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // a segment that is already being scanned stays here, so one unscanned segment is enough to split
+        int remaining = endSegment - nextSegment;
+        if (remaining < (current != null ? 1 : 2)) {
+            return null;
+        }
+        int mid = nextSegment + remaining / 2;
+        SegmentSpliterator<T> split = new SegmentSpliterator<>(segmentScanner, mid, endSegment);
+        endSegment = mid;
+        return split;
+    }
+
+    @Override
+    public long estimateSize() {
+        // the number of records is unknown until the segments are scanned
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return NONNULL;
+    }
+}
@@ -1,15 +1,70 @@
 package io.stardog.stardao.dynamodb.export;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
 import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ReturnConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.stardog.stardao.dynamodb.AbstractDynamoDao;
 
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 public class DynamoExporter {
+    public static final String CHECKPOINT_FILE_NAME = "checkpoint.json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private int threads = AbstractDynamoDao.DEFAULT_SCAN_THREADS;
+    private RateLimiter readCapacityLimiter;
+
+    /**
+     * Set the maximum number of segments that parallel exports scan at once.
+     * @param threads   number of scanner threads
+     */
+    public void setThreads(int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1: " + threads);
+        }
+        this.threads = threads;
+    }
+
+    /**
+     * Limit the read capacity consumed by parallel exports, so that they don't throttle other traffic on the table.
+     * The capacity consumed by each page is paid for once the page has been read.
+     * @param readCapacityUnitsPerSecond    read capacity budget, or 0 for no limit
+     */
+    public void setReadCapacityPerSecond(double readCapacityUnitsPerSecond) {
+        this.readCapacityLimiter = readCapacityUnitsPerSecond > 0 ? RateLimiter.create(readCapacityUnitsPerSecond) : null;
+    }
+
     public void export(Table table, File file) throws IOException {
         BufferedWriter writer = new BufferedWriter(new FileWriter(file));
         export(table, writer);
@@ -23,4 +78,230 @@ public class DynamoExporter {
             writer.write('\n');
         }
     }
+
+    /**
+     * Export a table using a parallel scan, writing one gzip-compressed file of JSON items (one per line) per
+     * segment. Up to the configured number of threads scan segments at once. After every page, each segment's position (its LastEvaluatedKey and the length of its shard) is saved
+     * to a checkpoint file in the directory. If the export is interrupted, calling this method again with the same
+     * directory and number of segments resumes each segment from its last checkpoint. If a segment fails, the other
+     * segments still run to completion before the failure is thrown. The checkpoint file is deleted once every
+     * segment has completed.
+     * @param db    DynamoDB client
+     * @param tableName name of the table to export
+     * @param directory directory to write the shards and checkpoint to
+     * @param totalSegments number of segments to divide the table into
+     * @return  total number of items exported
+     * @throws IOException  if a shard or the checkpoint cannot be written
+     */
+    public long exportParallel(AmazonDynamoDB db, String tableName, File directory, int totalSegments) throws IOException {
+        if (totalSegments < 1 || totalSegments > AbstractDynamoDao.MAX_SCAN_SEGMENTS) {
+            throw new IllegalArgumentException("totalSegments must be between 1 and " + AbstractDynamoDao.MAX_SCAN_SEGMENTS
+                    + ": " + totalSegments);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create export directory: " + directory);
+        }
+        Checkpoint checkpoint = new Checkpoint(new File(directory, CHECKPOINT_FILE_NAME), tableName, totalSegments);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(totalSegments, threads), new ThreadFactoryBuilder()
+                .setNameFormat(tableName + "-export-%d")
+                .setDaemon(true)
+                .build());
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < totalSegments; i++) {
+                int segment = i;
+                File file = new File(directory, String.format("%s-%05d.json.gz", tableName, segment));
+                futures.add(executor.submit(() -> exportSegment(db, tableName, segment, totalSegments, file, checkpoint)));
+            }
+            // a failed segment doesn't stop the others, so that as much progress as possible is checkpointed
+            ExecutionException failure = null;
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (ExecutionException e) {
+                    if (failure == null) {
+                        failure = e;
+                    }
+                }
+            }
+            if (failure != null) {
+                if (failure.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException)failure.getCause()).getCause();
+                }
+                throw new IOException("Problem exporting " + tableName + ": " + failure.getCause().getMessage(), failure.getCause());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting " + tableName, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        checkpoint.delete();
+        return checkpoint.getTotalCount();
+    }
+
+    private void exportSegment(AmazonDynamoDB db, String tableName, int segment, int totalSegments, File file,
+                               Checkpoint checkpoint) {
+        SegmentState state = checkpoint.getState(segment);
+        if (state.done) {
+            return;
+        }
+        try {
+            // discard anything written after the last checkpoint, so resumed segments don't duplicate items
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(state.bytes);
+            }
+            try (FileOutputStream out = new FileOutputStream(file, true)) {
+                Map<String,AttributeValue> lastKey = state.lastKey;
+                do {
+                    ScanResult result = db.scan(new ScanRequest(tableName)
+                            .withSegment(segment)
+                            .withTotalSegments(totalSegments)
+                            .withExclusiveStartKey(lastKey)
+                            .withReturnConsumedCapacity(ReturnConsumedCapacity.TOTAL));
+                    if (readCapacityLimiter != null) {
+                        double consumed = result.getConsumedCapacity() != null && result.getConsumedCapacity().getCapacityUnits() != null
+                                ? result.getConsumedCapacity().getCapacityUnits() : 1;
+                        readCapacityLimiter.acquire(Math.max(1, (int)Math.ceil(consumed)));
+                    }
+
+                    // each page is written as a complete gzip member, so the file is valid at every checkpoint
+                    PageGzipOutputStream gzip = new PageGzipOutputStream(out);
+                    try {
+                        Writer writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8), 65536);
+                        for (Map<String,AttributeValue> attributes : result.getItems()) {
+                            writer.write(ItemUtils.toItem(attributes).toJSON());
+                            writer.write('\n');
+                        }
+                        writer.flush();
+                        gzip.finish();
+                    } finally {
+                        gzip.end();
+                    }
+                    out.flush();
+
+                    lastKey = result.getLastEvaluatedKey() == null || result.getLastEvaluatedKey().isEmpty()
+                            ? null : result.getLastEvaluatedKey();
+                    checkpoint.update(segment, lastKey, out.getChannel().position(), result.getItems().size(), lastKey == null);
+                } while (lastKey != null);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Problem writing " + file + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * A gzip stream for a single page of a shard. The shard's stream stays open for the next page, so the stream is
+     * finished rather than closed, and its native deflater is freed with end() instead of waiting for finalization.
+     */
+    private static class PageGzipOutputStream extends GZIPOutputStream {
+        private PageGzipOutputStream(OutputStream out) throws IOException {
+            super(out, 65536);
+        }
+
+        private void end() {
+            def.end();
+        }
+    }
+
+    private static class SegmentState {
+        private Map<String,AttributeValue> lastKey;
+        private long bytes;
+        private long count;
+        private boolean done;
+    }
+
+    /**
+     * The saved position of every segment of an export, rewritten atomically each time a segment advances. Last keys
+     * are stored with their attribute types, so that numeric and binary keys resume exactly where they left off.
+     */
+    private static class Checkpoint {
+        private final File file;
+        private final String tableName;
+        private final SegmentState[] states;
+
+        private Checkpoint(File file, String tableName, int totalSegments) throws IOException {
+            this.file = file;
+            this.tableName = tableName;
+            this.states = new SegmentState[totalSegments];
+            for (int i = 0; i < totalSegments; i++) {
+                states[i] = new SegmentState();
+            }
+            if (file.exists()) {
+                read();
+            }
+        }
+
+        private void read() throws IOException {
+            JsonNode root = MAPPER.readTree(file);
+            if (!tableName.equals(root.path("table").asText()) || root.path("totalSegments").asInt() != states.length) {
+                throw new IOException("Checkpoint " + file + " is for a different export: " + root.path("table").asText()
+                        + " with " + root.path("totalSegments").asInt() + " segments");
+            }
+            for (JsonNode node : root.path("segments")) {
+                SegmentState state = states[node.path("segment").asInt()];
+                state.bytes = node.path("bytes").asLong();
+                state.count = node.path("count").asLong();
+                state.done = node.path("done").asBoolean();
+                if (node.hasNonNull("lastKey")) {
+                    try {
+                        state.lastKey = AbstractDynamoDao.fromKeyNode(node.get("lastKey"));
+                    } catch (IllegalArgumentException e) {
+                        throw new IOException("Checkpoint " + file + " has an invalid last key: " + e.getMessage(), e);
+                    }
+                }
+            }
+        }
+
+        private synchronized SegmentState getState(int segment) {
+            return states[segment];
+        }
+
+        private synchronized void update(int segment, Map<String,AttributeValue> lastKey, long bytes, long count, boolean done) {
+            SegmentState state = states[segment];
+            state.lastKey = lastKey;
+            state.bytes = bytes;
+            state.count += count;
+            state.done = done;
+            write();
+        }
+
+        private void write() {
+            ObjectNode root = MAPPER.createObjectNode()
+                    .put("table", tableName)
+                    .put("totalSegments", states.length);
+            ArrayNode segments = root.putArray("segments");
+            try {
+                for (int i = 0; i < states.length; i++) {
+                    SegmentState state = states[i];
+                    ObjectNode node = segments.addObject()
+                            .put("segment", i)
+                            .put("bytes", state.bytes)
+                            .put("count", state.count)
+                            .put("done", state.done);
+                    if (state.lastKey != null) {
+                        node.set("lastKey", AbstractDynamoDao.toKeyNode(state.lastKey));
+                    }
+                }
+                File temp = new File(file.getPath() + ".tmp");
+                MAPPER.writeValue(temp, root);
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write checkpoint " + file, e);
+            }
+        }
+
+        private synchronized long getTotalCount() {
+            long total = 0;
+            for (SegmentState state : states) {
+                total += state.count;
+            }
+            return total;
+        }
+
+        private void delete() throws IOException {
+            Files.deleteIfExists(file.toPath());
+        }
+    }
 }
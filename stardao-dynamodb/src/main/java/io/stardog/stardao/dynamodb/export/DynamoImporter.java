@@ -1,7 +1,17 @@
 package io.stardog.stardao.dynamodb.export;
 
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
 import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
 import com.amazonaws.services.dynamodbv2.document.Table;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.PutRequest;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.base.Throwables;
+import com.google.common.util.concurrent.RateLimiter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.stardog.stardao.dynamodb.AbstractDynamoDao;
 
 import java.io.BufferedReader;
 import java.io.File;
@@ -10,10 +20,59 @@ import java.io.IOException;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 public class DynamoImporter {
+    public static final int BATCH_WRITE_SIZE = 25;
+    public static final int DEFAULT_CHUNK_SIZE = 500;
+    public static final int DEFAULT_THREADS = 4;
+    private static final Pattern DATE_PATTERN = Pattern.compile("\\{\\{\\$DATE:([^\\}]+)\\}\\}");
+    private static final Pattern TIMESTAMP_PATTERN = Pattern.compile("\\{\\{\\$TIMESTAMP\\}\\}");
+
+    private final Map<String,DateTimeFormatter> formatters = new ConcurrentHashMap<>();
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+    private int threads = DEFAULT_THREADS;
+    private RateLimiter writeCapacityLimiter;
+
+    /**
+     * Set the number of lines handed to each worker at once.
+     * @param chunkSize number of lines per chunk
+     */
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Set the number of chunks that may be converted and written concurrently.
+     * @param threads   number of worker threads
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Limit the write capacity consumed by batched imports, so that they don't throttle other traffic on the table.
+     * Each item is assumed to consume one write capacity unit per KB of JSON.
+     * @param writeCapacityUnitsPerSecond   write capacity budget, or 0 for no limit
+     */
+    public void setWriteCapacityPerSecond(double writeCapacityUnitsPerSecond) {
+        this.writeCapacityLimiter = writeCapacityUnitsPerSecond > 0 ? RateLimiter.create(writeCapacityUnitsPerSecond) : null;
+    }
+
     public void importFromFile(Table table, File file) throws IOException {
         BufferedReader reader = new BufferedReader(new FileReader(file));
         for (String line; (line = reader.readLine()) != null; ) {
@@ -31,6 +90,131 @@ public class DynamoImporter {
         }
     }
 
+    /**
+     * Import a file of JSON items into a table using batched writes.
+     * @param db    DynamoDB client
+     * @param tableName name of the table to import into
+     * @param file  file containing one JSON item per line
+     * @return  number of items imported
+     * @throws IOException  if the file cannot be read
+     */
+    public long importFromFile(AmazonDynamoDB db, String tableName, File file) throws IOException {
+        return importLines(db, tableName, file, UnaryOperator.identity());
+    }
+
+    /**
+     * Import a file of JSON items into a table using batched writes, replacing {{$DATE:pattern}} and
+     * {{$TIMESTAMP}} templates with the current time.
+     * @param db    DynamoDB client
+     * @param tableName name of the table to import into
+     * @param file  file containing one JSON item per line
+     * @param timezone  timezone used to format dates
+     * @return  number of items imported
+     * @throws IOException  if the file cannot be read
+     */
+    public long importFromFileWithRelativeDates(AmazonDynamoDB db, String tableName, File file, ZoneId timezone) throws IOException {
+        Instant now = Instant.now();
+        return importLines(db, tableName, file, line -> replaceLine(line, now, timezone));
+    }
+
+    /**
+     * Import lines in a pipeline: the calling thread reads chunks of lines, and a pool of workers converts each chunk
+     * to items and writes them in BatchWriteItem requests of 25, retrying unprocessed items with exponential
+     * backoff. At most one chunk per worker is in flight, so reading never runs far ahead of writing. Chunks are
+     * written concurrently, so if the same key appears more than once in the file, which version is kept is only
+     * guaranteed when the duplicates fall within the same chunk.
+     */
+    protected long importLines(AmazonDynamoDB db, String tableName, File file, UnaryOperator<String> transform) throws IOException {
+        List<String> keyNames = new ArrayList<>();
+        for (KeySchemaElement key : db.describeTable(tableName).getTable().getKeySchema()) {
+            keyNames.add(key.getAttributeName());
+        }
+        AtomicLong count = new AtomicLong();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads, new ThreadFactoryBuilder()
+                .setNameFormat(tableName + "-import-%d")
+                .setDaemon(true)
+                .build());
+        Semaphore inFlight = new Semaphore(threads);
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            boolean more = true;
+            while (more && failure.get() == null) {
+                List<String> lines = new ArrayList<>(chunkSize);
+                String line = null;
+                while (lines.size() < chunkSize && (line = reader.readLine()) != null) {
+                    if (!line.trim().isEmpty()) {
+                        lines.add(line);
+                    }
+                }
+                more = line != null;
+                if (lines.isEmpty()) {
+                    continue;
+                }
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        writeChunk(db, tableName, keyNames, lines, transform);
+                        count.addAndGet(lines.size());
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing " + file, e);
+        } finally {
+            executor.shutdownNow();
+        }
+        if (failure.get() != null) {
+            Throwables.throwIfUnchecked(failure.get());
+            throw new IllegalStateException(failure.get());
+        }
+        return count.get();
+    }
+
+    private void writeChunk(AmazonDynamoDB db, String tableName, List<String> keyNames, List<String> lines,
+                            UnaryOperator<String> transform) {
+        List<WriteRequest> batch = new ArrayList<>(BATCH_WRITE_SIZE);
+        Set<Map<String,AttributeValue>> batchKeys = new HashSet<>();
+        int batchCapacity = 0;
+        for (String line : lines) {
+            String json = transform.apply(line);
+            Map<String,AttributeValue> attributes = ItemUtils.toAttributeValues(Item.fromJSON(json));
+            Map<String,AttributeValue> key = new HashMap<>();
+            for (String keyName : keyNames) {
+                key.put(keyName, attributes.get(keyName));
+            }
+            // a batch may not contain the same key twice, so write out the earlier version first
+            if (batch.size() == BATCH_WRITE_SIZE || batchKeys.contains(key)) {
+                batchWrite(db, tableName, batch, batchCapacity);
+                batch = new ArrayList<>(BATCH_WRITE_SIZE);
+                batchKeys.clear();
+                batchCapacity = 0;
+            }
+            batch.add(new WriteRequest().withPutRequest(new PutRequest().withItem(attributes)));
+            batchKeys.add(key);
+            batchCapacity += Math.max(1, (json.length() + 1023) / 1024);
+        }
+        if (!batch.isEmpty()) {
+            batchWrite(db, tableName, batch, batchCapacity);
+        }
+    }
+
+    private void batchWrite(AmazonDynamoDB db, String tableName, List<WriteRequest> batch, int capacity) {
+        if (writeCapacityLimiter != null) {
+            writeCapacityLimiter.acquire(capacity);
+        }
+        List<WriteRequest> unprocessed = AbstractDynamoDao.writeBatch(db, tableName, batch, null);
+        if (!unprocessed.isEmpty()) {
+            throw new IllegalStateException("Unable to write " + unprocessed.size() + " items to " + tableName
+                    + " after " + AbstractDynamoDao.MAX_BATCH_WRITE_RETRIES + " retries");
+        }
+    }
+
     public String replaceLine(String line, Instant now, ZoneId timezone) {
         line = replaceLineDate(line, now, timezone);
         line = replaceLineTimestamp(line, now);
@@ -38,25 +222,24 @@ public class DynamoImporter {
     }
 
     public String replaceLineDate(String line, Instant now, ZoneId timezone) {
-        Pattern pattern = Pattern.compile("\\{\\{\\$DATE:([^\\}]+)\\}\\}");
-        Matcher matcher = pattern.matcher(line);
+        Matcher matcher = DATE_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return line;
+        }
         StringBuffer sb = new StringBuffer(line.length());
-        while (matcher.find()) {
-            DateTimeFormatter dtf = DateTimeFormatter.ofPattern(matcher.group(1)).withZone(timezone);
+        do {
+            DateTimeFormatter dtf = formatters.computeIfAbsent(matcher.group(1), DateTimeFormatter::ofPattern).withZone(timezone);
             matcher.appendReplacement(sb, dtf.format(now));
-        }
+        } while (matcher.find());
         matcher.appendTail(sb);
         return sb.toString();
     }
 
     public String replaceLineTimestamp(String line, Instant now) {
-        Pattern pattern = Pattern.compile("\\{\\{\\$TIMESTAMP\\}\\}");
-        Matcher matcher = pattern.matcher(line);
-        StringBuffer sb = new StringBuffer(line.length());
-        while (matcher.find()) {
-            matcher.appendReplacement(sb, Long.toString(now.toEpochMilli()));
+        Matcher matcher = TIMESTAMP_PATTERN.matcher(line);
+        if (!matcher.find()) {
+            return line;
         }
-        matcher.appendTail(sb);
-        return sb.toString();
+        return matcher.replaceAll(Long.toString(now.toEpochMilli()));
     }
 }
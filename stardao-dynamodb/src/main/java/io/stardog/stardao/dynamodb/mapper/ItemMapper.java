@@ -1,8 +1,59 @@
 package io.stardog.stardao.dynamodb.mapper;
 
 import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 public interface ItemMapper<M> {
     public M toObject(Item item);
     public Item toItem(M object);
+
+    /**
+     * Map a low-level DynamoDB attribute map to a POJO. The default implementation goes through an Item.
+     * @param attributes    attribute map, as returned by the low-level client
+     * @return  POJO representation of the attributes
+     */
+    public default M toObject(Map<String,AttributeValue> attributes) {
+        return toObject(attributes == null ? null : ItemUtils.toItem(attributes));
+    }
+
+    /**
+     * Map a POJO to a low-level DynamoDB attribute map. The default implementation goes through an Item.
+     * @param object    POJO to convert
+     * @return  attribute map representation of the POJO
+     */
+    public default Map<String,AttributeValue> toAttributeValues(M object) {
+        return ItemUtils.toAttributeValues(toItem(object));
+    }
+
+    /**
+     * Map some of the fields of a POJO to a DynamoDB Item. The default implementation maps the whole POJO.
+     * @param object    POJO to convert
+     * @param fields    names of the fields to map
+     * @return  item containing at least the given fields that the POJO has values for
+     */
+    public default Item toItem(M object, Iterable<String> fields) {
+        return toItem(object);
+    }
+
+    /**
+     * Return the model names of the fields that a POJO has values for. The default implementation returns the
+     * attribute names of the mapped Item, which are storage names; AbstractDynamoDao.updateOf() maps them back to
+     * model names, but other callers must do so themselves if the mapper renames fields.
+     * @param object    POJO
+     * @return  field names
+     */
+    public default Set<String> toFieldNames(M object) {
+        Set<String> fields = new LinkedHashSet<>();
+        if (object != null) {
+            for (Map.Entry<String,Object> attr : toItem(object).attributes()) {
+                fields.add(attr.getKey());
+            }
+        }
+        return fields;
+    }
 }
@@ -1,10 +1,19 @@
 package io.stardog.stardao.dynamodb.mapper;
 
 import com.amazonaws.services.dynamodbv2.document.Item;
-import com.fasterxml.jackson.core.JsonProcessingException;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.collect.ImmutableSet;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import io.stardog.stardao.core.field.Field;
@@ -12,10 +21,18 @@ import io.stardog.stardao.core.field.FieldData;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class JacksonItemMapper<M> implements ItemMapper<M> {
     private final Class<M> modelClass;
@@ -23,6 +40,7 @@ public class JacksonItemMapper<M> implements ItemMapper<M> {
     private final ObjectMapper objectMapper;
     private final Map<String,String> objectToItemFieldRenames;
     private final Map<String,String> itemToObjectFieldRenames;
+    private final Map<Class<?>,Map<String,PropertyWriter>> propertyWriters = new ConcurrentHashMap<>();
 
     public JacksonItemMapper(Class<M> modelClass, FieldData fieldData) {
         this(modelClass, fieldData, new ObjectMapper()
@@ -61,11 +79,32 @@ public class JacksonItemMapper<M> implements ItemMapper<M> {
         if (item == null) {
             return null;
         }
-        item = renameItem(item, itemToObjectFieldRenames);
-        Map<String,Object> map = item.asMap();
+        return toObject(ItemUtils.toAttributeValues(item));
+    }
+
+    /**
+     * Map a low-level DynamoDB attribute map to a POJO, by streaming the attributes as Jackson tokens straight into
+     * the object mapper. Field renames are applied along the way.
+     * @param attributes    attribute map to convert to a POJO
+     * @return  POJO representation of the attributes
+     */
+    @Override
+    public M toObject(Map<String,AttributeValue> attributes) {
+        if (attributes == null) {
+            return null;
+        }
         try {
-            String json = objectMapper.writeValueAsString(map);
-            return objectMapper.readValue(json, modelClass);
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            buffer.writeStartObject();
+            for (Map.Entry<String,AttributeValue> attr : attributes.entrySet()) {
+                String renamedKey = itemToObjectFieldRenames.getOrDefault(attr.getKey(), attr.getKey());
+                if (renamedKey != null && !"".equals(renamedKey)) {
+                    buffer.writeFieldName(renamedKey);
+                    writeAttributeValue(buffer, attr.getValue());
+                }
+            }
+            buffer.writeEndObject();
+            return objectMapper.readValue(buffer.asParser(), modelClass);
         } catch (IOException e) {
             throw new UncheckedIOException(e);
         }
@@ -77,28 +116,124 @@ public class JacksonItemMapper<M> implements ItemMapper<M> {
      * @return  item representation of POJO
      */
     public Item toItem(Object object) {
+        return ItemUtils.toItem(toAttributeValues(object));
+    }
+
+    /**
+     * Map a POJO to a low-level DynamoDB attribute map, by serializing it to Jackson tokens and converting them
+     * directly to attribute values. Field renames are applied and top-level empty strings (which DynamoDB cannot
+     * store) are removed in the same pass.
+     * @param object    POJO to convert
+     * @return  attribute map representation of POJO
+     */
+    public Map<String,AttributeValue> toAttributeValues(Object object) {
         try {
-            String json = objectMapper.writeValueAsString(object);
-            Item item = Item.fromJSON(json);
-
-            // remove any empty strings, since DynamoDB cannot store them
-            List<String> removeAttrs = new ArrayList<>();
-            for (Map.Entry<String,Object> attr : item.attributes()) {
-                if ("".equals(attr.getValue())) {
-                    removeAttrs.add(attr.getKey());
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            objectMapper.writeValue(buffer, object);
+            return readAttributes(buffer.asParser(), object);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to convert " + object, e);
+        }
+    }
+
+    /**
+     * Map some of the fields of a POJO to a DynamoDB Item. Only the named properties are serialized, so this is much
+     * cheaper than toItem() when only a few fields of an object are needed, such as the set fields of an update.
+     * @param object    POJO to convert
+     * @param fields    names of the fields to map
+     * @return  item containing the given fields that the POJO has values for
+     */
+    @Override
+    public Item toItem(M object, Iterable<String> fields) {
+        Map<String,PropertyWriter> writers = getPropertyWriters(object.getClass());
+        if (writers.isEmpty()) {
+            return toItem(object);
+        }
+        try {
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+            buffer.writeStartObject();
+            for (String field : fields) {
+                PropertyWriter writer = writers.get(field);
+                if (writer != null) {
+                    writer.serializeAsField(object, buffer, provider);
                 }
             }
-            for (String attrName : removeAttrs) {
-                item.removeAttribute(attrName);
-            }
+            buffer.writeEndObject();
+            return ItemUtils.toItem(readAttributes(buffer.asParser(), object));
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Unable to convert " + object, e);
+        }
+    }
 
-            item = renameItem(item, objectToItemFieldRenames);
-            return item;
-        } catch (JsonProcessingException e) {
+    /**
+     * Return the names of the fields that toItem() would write for a POJO, before renaming. The object is only
+     * serialized to Jackson tokens, without building any attribute values.
+     * @param object    POJO
+     * @return  field names
+     */
+    @Override
+    public Set<String> toFieldNames(M object) {
+        if (object == null) {
+            return ImmutableSet.of();
+        }
+        try {
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            objectMapper.writeValue(buffer, object);
+            JsonParser parser = buffer.asParser();
+            ImmutableSet.Builder<String> fields = ImmutableSet.builder();
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    if (parser.currentToken() != JsonToken.VALUE_STRING || !"".equals(parser.getText())) {
+                        fields.add(key);
+                    }
+                    parser.skipChildren();
+                }
+            }
+            return fields.build();
+        } catch (IOException e) {
             throw new IllegalArgumentException("Unable to convert " + object, e);
         }
     }
 
+    private Map<String,AttributeValue> readAttributes(JsonParser parser, Object object) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Unable to convert " + object + ": not a JSON object");
+        }
+        Map<String,AttributeValue> attributes = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String key = parser.getCurrentName();
+            String renamedKey = objectToItemFieldRenames.getOrDefault(key, key);
+            parser.nextToken();
+            if (renamedKey == null || "".equals(renamedKey)
+                    || (parser.currentToken() == JsonToken.VALUE_STRING && "".equals(parser.getText()))) {
+                parser.skipChildren();
+            } else {
+                attributes.put(renamedKey, readAttributeValue(parser));
+            }
+        }
+        return attributes;
+    }
+
+    private Map<String,PropertyWriter> getPropertyWriters(Class<?> type) {
+        return propertyWriters.computeIfAbsent(type, t -> {
+            Map<String,PropertyWriter> writers = new HashMap<>();
+            try {
+                JsonSerializer<Object> serializer = objectMapper.getSerializerProviderInstance().findValueSerializer(t);
+                Iterator<PropertyWriter> properties = serializer.properties();
+                while (properties.hasNext()) {
+                    PropertyWriter writer = properties.next();
+                    writers.put(writer.getName(), writer);
+                }
+            } catch (JsonMappingException e) {
+                throw new IllegalArgumentException("Unable to find serializer for " + t.getSimpleName(), e);
+            }
+            return writers;
+        });
+    }
+
     protected Item renameItem(Item item, Map<String,String> renames) {
         Map<String,Object> map = item.asMap();
         Item renamedItem = new Item();
@@ -110,4 +245,136 @@ public class JacksonItemMapper<M> implements ItemMapper<M> {
         }
         return renamedItem;
     }
+
+    private AttributeValue readAttributeValue(JsonParser parser) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                Map<String,AttributeValue> map = new LinkedHashMap<>();
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String key = parser.getCurrentName();
+                    parser.nextToken();
+                    map.put(key, readAttributeValue(parser));
+                }
+                return new AttributeValue().withM(map);
+            case START_ARRAY:
+                List<AttributeValue> list = new ArrayList<>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    list.add(readAttributeValue(parser));
+                }
+                return new AttributeValue().withL(list);
+            case VALUE_STRING:
+                return new AttributeValue().withS(parser.getText());
+            case VALUE_NUMBER_INT:
+                return new AttributeValue().withN(parser.getNumberValue().toString());
+            case VALUE_NUMBER_FLOAT:
+                // match the previous JSON-based conversion, which parsed floats as doubles; only true BigDecimals
+                // keep their full precision
+                BigDecimal decimal = parser.getNumberType() == JsonParser.NumberType.BIG_DECIMAL
+                        ? parser.getDecimalValue()
+                        : BigDecimal.valueOf(parser.getDoubleValue());
+                return new AttributeValue().withN(decimal.toPlainString());
+            case VALUE_TRUE:
+                return new AttributeValue().withBOOL(true);
+            case VALUE_FALSE:
+                return new AttributeValue().withBOOL(false);
+            case VALUE_NULL:
+                return new AttributeValue().withNULL(true);
+            case VALUE_EMBEDDED_OBJECT:
+                Object embedded = parser.getEmbeddedObject();
+                if (embedded instanceof byte[]) {
+                    return new AttributeValue().withS(Base64.getEncoder().encodeToString((byte[])embedded));
+                }
+                return new AttributeValue().withS(String.valueOf(embedded));
+            default:
+                throw new IllegalArgumentException("Unexpected JSON token: " + parser.currentToken());
+        }
+    }
+
+    private void writeAttributeValue(TokenBuffer buffer, AttributeValue value) throws IOException {
+        if (value.getS() != null) {
+            buffer.writeString(value.getS());
+        } else if (value.getN() != null) {
+            writeNumber(buffer, value.getN());
+        } else if (value.getBOOL() != null) {
+            buffer.writeBoolean(value.getBOOL());
+        } else if (value.getM() != null) {
+            buffer.writeStartObject();
+            for (Map.Entry<String,AttributeValue> attr : value.getM().entrySet()) {
+                buffer.writeFieldName(attr.getKey());
+                writeAttributeValue(buffer, attr.getValue());
+            }
+            buffer.writeEndObject();
+        } else if (value.getL() != null) {
+            buffer.writeStartArray();
+            for (AttributeValue element : value.getL()) {
+                writeAttributeValue(buffer, element);
+            }
+            buffer.writeEndArray();
+        } else if (value.getSS() != null) {
+            buffer.writeStartArray();
+            for (String element : value.getSS()) {
+                buffer.writeString(element);
+            }
+            buffer.writeEndArray();
+        } else if (value.getNS() != null) {
+            buffer.writeStartArray();
+            for (String element : value.getNS()) {
+                writeNumber(buffer, element);
+            }
+            buffer.writeEndArray();
+        } else if (value.getB() != null) {
+            buffer.writeBinary(toBytes(value.getB()));
+        } else if (value.getBS() != null) {
+            buffer.writeStartArray();
+            for (ByteBuffer element : value.getBS()) {
+                buffer.writeBinary(toBytes(element));
+            }
+            buffer.writeEndArray();
+        } else {
+            buffer.writeNull();
+        }
+    }
+
+    /**
+     * Write a DynamoDB number as the narrowest integer token when it has no fractional part, so that integer-based
+     * types (including epoch-millisecond timestamps) deserialize exactly as they would from JSON. Other numbers are
+     * written as BigDecimals, so no precision is lost.
+     */
+    private static void writeNumber(TokenBuffer buffer, String number) throws IOException {
+        if (isInteger(number)) {
+            if (number.length() < 19) {
+                long value = Long.parseLong(number);
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    buffer.writeNumber((int)value);
+                } else {
+                    buffer.writeNumber(value);
+                }
+            } else {
+                buffer.writeNumber(new BigInteger(number));
+            }
+        } else {
+            buffer.writeNumber(new BigDecimal(number));
+        }
+    }
+
+    private static boolean isInteger(String number) {
+        int start = number.startsWith("-") ? 1 : 0;
+        if (start == number.length()) {
+            return false;
+        }
+        for (int i = start; i < number.length(); i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        return bytes;
+    }
 }
@@ -12,6 +12,7 @@ import com.amazonaws.services.dynamodbv2.document.utils.NameMap;
 import com.amazonaws.services.dynamodbv2.document.utils.ValueMap;
 import com.amazonaws.services.dynamodbv2.local.embedded.DynamoDBEmbedded;
 import com.amazonaws.services.dynamodbv2.model.AttributeDefinition;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
 import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
 import com.amazonaws.services.dynamodbv2.model.KeyType;
 import com.google.common.collect.ImmutableList;
@@ -19,22 +20,30 @@ import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.Results;
 import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.WriteResult;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class AbstractDynamoDaoTest {
     private AmazonDynamoDB dynamodb;
@@ -148,6 +157,30 @@ public class AbstractDynamoDaoTest {
         assertNull(loaded.getBirthday());
     }
 
+    @Test
+    public void testLoadMany() throws Exception {
+        TestModel ian = dao.create(TestModel.builder().name("Ian White").build());
+        TestModel bob = dao.create(TestModel.builder().name("Bob Smith").build());
+        UUID missing = UUID.randomUUID();
+
+        Map<UUID,TestModel> loaded = dao.loadMany(ImmutableList.of(bob.getId(), missing, ian.getId()));
+        assertEquals(ImmutableList.of(bob.getId(), ian.getId()), ImmutableList.copyOf(loaded.keySet()));
+        assertEquals(bob, loaded.get(bob.getId()));
+        assertEquals(ian, loaded.get(ian.getId()));
+    }
+
+    @Test
+    public void testLoadManyPartial() throws Exception {
+        TestModel ian = dao.create(TestModel.builder().name("Ian White").country("US").build());
+        TestModel bob = dao.create(TestModel.builder().name("Bob Smith").country("CA").build());
+
+        Map<UUID,TestModel> loaded = dao.loadMany(ImmutableList.of(ian.getId(), bob.getId()), ImmutableSet.of("name"));
+        assertEquals(2, loaded.size());
+        assertEquals("Ian White", loaded.get(ian.getId()).getName());
+        assertNull(loaded.get(ian.getId()).getCountry());
+        assertEquals("Bob Smith", loaded.get(bob.getId()).getName());
+    }
+
     @Test
     public void testLoadByIndex() throws Exception {
         TestModel created = dao.create(TestModel.builder()
@@ -195,6 +228,47 @@ public class AbstractDynamoDaoTest {
         assertEquals(2, results.getData().size());
     }
 
+    @Test
+    public void testStreamAll() throws Exception {
+        populateSampleData();
+        try (Stream<TestModel> stream = dao.streamAll()) {
+            assertEquals(ImmutableSet.of("Ian White", "Bob Smith"), stream.map(TestModel::getName).collect(Collectors.toSet()));
+        }
+    }
+
+    @Test
+    public void testScanAllParallel() throws Exception {
+        populateSampleData();
+        Results<TestModel,UUID> results = dao.scanAll(4);
+        assertEquals(2, results.getData().size());
+    }
+
+    @Test
+    public void testParallelScanStream() throws Exception {
+        populateSampleData();
+        Set<String> names = dao.parallelScan(3).map(TestModel::getName).collect(Collectors.toSet());
+        assertEquals(ImmutableSet.of("Ian White", "Bob Smith"), names);
+    }
+
+    @Test
+    public void testParallelScanConsumer() throws Exception {
+        populateSampleData();
+        List<TestModel> results = new ArrayList<>();
+        dao.parallelScan(3, 1, results::add);
+        assertEquals(2, results.size());
+
+        results.clear();
+        dao.parallelScan(8, 2, 1, results::add);
+        assertEquals(2, results.size());
+
+        try {
+            dao.parallelScan(2, m -> { throw new IllegalArgumentException("stop"); });
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("stop", e.getMessage());
+        }
+    }
+
     @Test
     public void testScan() throws Exception {
         populateSampleData();
@@ -218,6 +292,71 @@ public class AbstractDynamoDaoTest {
         assertEquals(1, results.getData().size());
     }
 
+    @Test
+    public void testScanPaginated() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            dao.create(TestModel.builder().name("User " + i).build());
+            dao.create(TestModel.builder().name("Other " + i).build());
+        }
+        // pages stay full even though the filter discards half of the items evaluated
+        Set<String> names = new HashSet<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            ScanSpec spec = new ScanSpec()
+                    .withFilterExpression("begins_with(#name, :prefix)")
+                    .withNameMap(new NameMap().with("#name", "name"))
+                    .withValueMap(new ValueMap().with(":prefix", "User"));
+            Results<TestModel,String> results = dao.scan(spec, 3, cursor);
+            results.getData().forEach(m -> names.add(m.getName()));
+            pageSizes.add(results.getData().size());
+            cursor = results.getNext().orElse(null);
+        } while (cursor != null);
+        assertEquals(7, names.size());
+        assertEquals(ImmutableList.of(3, 3), pageSizes.subList(0, 2));
+    }
+
+    @Test
+    public void testFindByIndexPaginated() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            dao.create(TestModel.builder().name("User " + i).email("dup@example.com").build());
+        }
+        QuerySpec spec = new QuerySpec()
+                .withKeyConditionExpression("email = :email")
+                .withValueMap(new ValueMap().with(":email", "dup@example.com"));
+        Results<TestModel,String> first = dao.findByIndex("email", spec, 2, null);
+        assertEquals(2, first.getData().size());
+        Results<TestModel,String> second = dao.findByIndex("email", spec, 2, first.getNext().get());
+        assertEquals(2, second.getData().size());
+        Results<TestModel,String> third = dao.findByIndex("email", spec, 2, second.getNext().get());
+        assertEquals(1, third.getData().size());
+        assertFalse(third.getNext().isPresent());
+
+        Set<UUID> ids = new HashSet<>();
+        for (Results<TestModel,String> page : ImmutableList.of(first, second, third)) {
+            page.getData().forEach(m -> ids.add(m.getId()));
+        }
+        assertEquals(5, ids.size());
+    }
+
+    @Test
+    public void testEncodeDecodeCursor() throws Exception {
+        Map<String,AttributeValue> key = ImmutableMap.of(
+                "id", new AttributeValue("abc"),
+                "createAt", new AttributeValue().withN("1520000000000"),
+                "hash", new AttributeValue().withB(ByteBuffer.wrap(new byte[] { 1, 2, 3 })));
+        String cursor = dao.encodeCursor(key);
+        assertEquals(key, dao.decodeCursor(cursor));
+        assertNull(dao.encodeCursor(null));
+        assertNull(dao.decodeCursor(null));
+        try {
+            dao.decodeCursor("not a cursor");
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Invalid cursor"));
+        }
+    }
+
     @Test
     public void testCheckUniqueField() throws Exception {
         populateSampleData();
@@ -237,6 +376,62 @@ public class AbstractDynamoDaoTest {
         assertEquals(new BigDecimal(now.toEpochMilli()), item.get("createAt"));
     }
 
+    @Test
+    public void testCreateAll() throws Exception {
+        UUID creatorId = UUID.randomUUID();
+        List<WriteResult<TestModel>> results = dao.createAll(ImmutableList.of(
+                TestModel.builder().name("Ian White").build(),
+                TestModel.builder().name("Bob Smith").build()), Instant.now(), creatorId);
+        assertEquals(2, results.size());
+        for (WriteResult<TestModel> result : results) {
+            assertTrue(result.isSuccess());
+            assertEquals(creatorId, result.getValue().getCreateId());
+            assertEquals(result.getValue(), dao.load(result.getValue().getId()));
+        }
+        assertEquals("Ian White", results.get(0).getValue().getName());
+        assertEquals("Bob Smith", results.get(1).getValue().getName());
+    }
+
+    @Test
+    public void testCreateAllWithExistingIds() throws Exception {
+        TestModel existing = dao.create(TestModel.builder().name("Ian White").build());
+        UUID id = UUID.randomUUID();
+
+        List<WriteResult<TestModel>> results = dao.createAll(ImmutableList.of(
+                TestModel.builder().id(existing.getId()).name("Overwrite").build(),
+                TestModel.builder().id(id).name("Bob Smith").build(),
+                TestModel.builder().id(id).name("Repeat").build()), Instant.now(), null);
+        assertEquals(3, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertTrue(results.get(1).isSuccess());
+        assertFalse(results.get(2).isSuccess());
+        assertEquals("Ian White", dao.load(existing.getId()).getName());
+        assertEquals("Bob Smith", dao.load(id).getName());
+    }
+
+    @Test
+    public void testDeleteAll() throws Exception {
+        TestModel ian = dao.create(TestModel.builder().name("Ian White").build());
+        TestModel bob = dao.create(TestModel.builder().name("Bob Smith").build());
+
+        List<WriteResult<UUID>> results = dao.deleteAll(ImmutableList.of(ian.getId(), bob.getId()));
+        assertEquals(ImmutableList.of(WriteResult.success(ian.getId()), WriteResult.success(bob.getId())), results);
+        assertFalse(dao.loadOpt(ian.getId()).isPresent());
+        assertFalse(dao.loadOpt(bob.getId()).isPresent());
+    }
+
+    @Test
+    public void testDeleteAllWithDuplicateIds() throws Exception {
+        TestModel ian = dao.create(TestModel.builder().name("Ian White").build());
+        TestModel bob = dao.create(TestModel.builder().name("Bob Smith").build());
+
+        List<WriteResult<UUID>> results = dao.deleteAll(ImmutableList.of(ian.getId(), bob.getId(), ian.getId()));
+        assertEquals(ImmutableList.of(WriteResult.success(ian.getId()), WriteResult.success(bob.getId()),
+                WriteResult.success(ian.getId())), results);
+        assertFalse(dao.loadOpt(ian.getId()).isPresent());
+        assertFalse(dao.loadOpt(bob.getId()).isPresent());
+    }
+
     @Test
     public void testUpdate() throws Exception {
         TestModel model = dao.create(TestModel.builder().name("Ian").build());
@@ -271,6 +466,27 @@ public class AbstractDynamoDaoTest {
         assertEquals(new Long(now.toEpochMilli()), spec.getValueMap().get(":updateAt"));
     }
 
+    @Test
+    public void testToUpdateItemSpecReusesTemplate() throws Exception {
+        UUID updaterId = UUID.randomUUID();
+        Update<TestModel> first = Update.of(TestModel.builder().name("First").build(), ImmutableSet.of("name", "email"));
+        Update<TestModel> second = Update.of(TestModel.builder().name("Second").email("second@example.com").build(), ImmutableSet.of("email", "name"));
+
+        UpdateItemSpec spec1 = dao.toUpdateItemSpec(UUID.randomUUID(), first, null, updaterId);
+        UpdateItemSpec spec2 = dao.toUpdateItemSpec(UUID.randomUUID(), second, null, updaterId);
+        assertEquals("SET #name = :name, #email = :email, #updateId = :updateId", spec1.getUpdateExpression());
+        assertEquals(spec1.getUpdateExpression(), spec2.getUpdateExpression());
+        assertEquals(spec1.getNameMap(), spec2.getNameMap());
+        assertEquals("First", spec1.getValueMap().get(":name"));
+        assertNull(spec1.getValueMap().get(":email"));
+        assertEquals("Second", spec2.getValueMap().get(":name"));
+        assertEquals("second@example.com", spec2.getValueMap().get(":email"));
+
+        UpdateItemSpec spec3 = dao.toUpdateItemSpec(UUID.randomUUID(), Update.of(first.getPartial(), ImmutableSet.of(), ImmutableSet.of("email")), null, null);
+        assertEquals(" REMOVE #email", spec3.getUpdateExpression());
+        assertNull(spec3.getValueMap());
+    }
+
     @Test
     public void testUpdateOf() throws Exception {
         Update<TestModel> update = dao.updateOf(TestModel.builder().name("Ian").build());
@@ -327,7 +543,27 @@ public class AbstractDynamoDaoTest {
 
     @Test
     public void testCopyTable() throws Exception {
-
+        AmazonDynamoDB sourceDb = DynamoDBEmbedded.create().amazonDynamoDB();
+        TestDynamoDao source = new TestDynamoDao(sourceDb);
+        source.dropAndInitTable();
+        List<TestModel> models = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            models.add(TestModel.builder().name("User " + i).build());
+        }
+        source.createAll(models, Instant.now(), UUID.randomUUID());
+
+        List<Long> progress = new ArrayList<>();
+        long copied = dao.copyTable(sourceDb, "test", CopyTableOptions.builder()
+                .totalSegments(5)
+                .scanThreads(2)
+                .writeThreads(2)
+                .readCapacityPerSecond(1000)
+                .writeCapacityPerSecond(1000)
+                .progressListener((read, written, rate) -> progress.add(written))
+                .build());
+        assertEquals(60, copied);
+        assertEquals(Long.valueOf(60), progress.get(progress.size() - 1));
+        assertEquals(60, dao.scanAll().getData().size());
     }
 
     @Test
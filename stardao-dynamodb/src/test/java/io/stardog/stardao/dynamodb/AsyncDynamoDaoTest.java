@@ -0,0 +1,132 @@
+package io.stardog.stardao.dynamodb;
+
+import com.amazonaws.handlers.AsyncHandler;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDBAsync;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.GetItemRequest;
+import com.amazonaws.services.dynamodbv2.model.GetItemResult;
+import com.amazonaws.services.dynamodbv2.model.PutItemRequest;
+import com.amazonaws.services.dynamodbv2.model.PutItemResult;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemRequest;
+import com.amazonaws.services.dynamodbv2.model.UpdateItemResult;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.exceptions.DataNotFoundException;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class AsyncDynamoDaoTest {
+    private AmazonDynamoDBAsync db;
+    private AsyncDynamoDao<TestModel,TestModel,UUID,UUID> dao;
+
+    @Before
+    public void setUp() throws Exception {
+        db = mock(AmazonDynamoDBAsync.class);
+        dao = new AsyncDynamoDao<>(new TestDynamoDao(mock(AmazonDynamoDB.class)), db);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnGetItem(GetItemResult result) {
+        doAnswer(inv -> {
+            ((AsyncHandler<GetItemRequest,GetItemResult>) inv.getArgument(1)).onSuccess(inv.getArgument(0), result);
+            return null;
+        }).when(db).getItemAsync(any(GetItemRequest.class), any());
+    }
+
+    @Test
+    public void testLoadOpt() throws Exception {
+        UUID id = UUID.randomUUID();
+        returnGetItem(new GetItemResult().withItem(ImmutableMap.of(
+                "id", new AttributeValue(id.toString()),
+                "name", new AttributeValue("Ian White"))));
+
+        TestModel model = dao.loadOpt(id).get().get();
+        assertEquals(id, model.getId());
+        assertEquals("Ian White", model.getName());
+
+        ArgumentCaptor<GetItemRequest> request = ArgumentCaptor.forClass(GetItemRequest.class);
+        verify(db).getItemAsync(request.capture(), any());
+        assertEquals("test", request.getValue().getTableName());
+        assertEquals(ImmutableMap.of("id", new AttributeValue(id.toString())), request.getValue().getKey());
+    }
+
+    @Test
+    public void testLoadNotFound() throws Exception {
+        returnGetItem(new GetItemResult());
+
+        assertFalse(dao.loadOpt(UUID.randomUUID()).get().isPresent());
+        try {
+            dao.load(UUID.randomUUID()).join();
+            fail("Expected DataNotFoundException");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof DataNotFoundException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreate() throws Exception {
+        doAnswer(inv -> {
+            ((AsyncHandler<PutItemRequest,PutItemResult>) inv.getArgument(1)).onSuccess(inv.getArgument(0), new PutItemResult());
+            return null;
+        }).when(db).putItemAsync(any(PutItemRequest.class), any());
+
+        UUID creatorId = UUID.randomUUID();
+        TestModel created = dao.create(TestModel.builder().name("Ian White").build(), java.time.Instant.now(), creatorId).get();
+        assertNotNull(created.getId());
+        assertEquals(creatorId, created.getCreateId());
+
+        ArgumentCaptor<PutItemRequest> request = ArgumentCaptor.forClass(PutItemRequest.class);
+        verify(db).putItemAsync(request.capture(), any());
+        assertEquals("attribute_not_exists(#id)", request.getValue().getConditionExpression());
+        assertEquals(created.getId().toString(), request.getValue().getItem().get("id").getS());
+    }
+
+    @Test
+    public void testToUpdateItemRequest() throws Exception {
+        Update<TestModel> update = Update.of(
+                TestModel.builder().name("Test").birthday(LocalDate.of(1985, 10, 26)).build(),
+                ImmutableSet.of("name"),
+                ImmutableSet.of("email"));
+        UUID id = UUID.randomUUID();
+        UpdateItemRequest request = dao.toUpdateItemRequest(id, update, null, null);
+        assertEquals("SET #name = :name REMOVE #email", request.getUpdateExpression());
+        assertEquals(new AttributeValue("Test"), request.getExpressionAttributeValues().get(":name"));
+        assertEquals(ImmutableMap.of("id", new AttributeValue(id.toString())), request.getKey());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateFailure() throws Exception {
+        RuntimeException failure = new RuntimeException("throttled");
+        doAnswer(inv -> {
+            ((AsyncHandler<UpdateItemRequest,UpdateItemResult>) inv.getArgument(1)).onError(failure);
+            return null;
+        }).when(db).updateItemAsync(any(UpdateItemRequest.class), any());
+
+        Update<TestModel> update = Update.of(TestModel.builder().name("Test").build(), ImmutableSet.of("name"));
+        try {
+            dao.update(UUID.randomUUID(), update).join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertEquals(failure, e.getCause());
+        }
+    }
+}
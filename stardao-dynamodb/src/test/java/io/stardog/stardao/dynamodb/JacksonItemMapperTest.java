@@ -1,16 +1,23 @@
 package io.stardog.stardao.dynamodb;
 
 import com.amazonaws.services.dynamodbv2.document.Item;
+import com.amazonaws.services.dynamodbv2.document.ItemUtils;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import io.stardog.stardao.core.field.Field;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.dynamodb.mapper.JacksonItemMapper;
 import org.junit.Test;
 
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 
 public class JacksonItemMapperTest {
     @Test
@@ -29,6 +36,22 @@ public class JacksonItemMapperTest {
         assertEquals(372, ((Number) item.get("num")).intValue());
     }
 
+    @Test
+    public void testToItemWithFields() throws Exception {
+        Map<String,Field> fields = ImmutableMap.of(
+                "name", Field.builder().name("name").storageName("n").optional(false).creatable(true).updatable(true).build());
+        JacksonItemMapper<TestObject> mapper = new JacksonItemMapper<>(TestObject.class, FieldData.builder().map(fields).build());
+
+        Instant at = Instant.now();
+        TestObject object = new TestObject(UUID.randomUUID(), "MyName", at, LocalDate.of(2016, 5, 12), 372);
+        Item item = mapper.toItem(object, ImmutableList.of("name", "at", "missing"));
+        assertEquals(2, item.numberOfAttributes());
+        assertEquals("MyName", item.get("n"));
+        assertEquals(at.toEpochMilli(), ((Number)item.get("at")).longValue());
+
+        assertEquals(ImmutableSet.of("id", "name", "at", "date", "num"), mapper.toFieldNames(object));
+    }
+
     @Test
     public void testToObject() throws Exception {
         JacksonItemMapper<TestObject> mapper = new JacksonItemMapper<>(TestObject.class, FieldData.builder().map(ImmutableMap.of()).build());
@@ -49,4 +72,58 @@ public class JacksonItemMapperTest {
         assertEquals("MyName", object2.getName());
         assertEquals(new Integer(372), object2.getNum());
     }
+
+    @Test
+    public void testToAttributeValues() throws Exception {
+        Field name = Field.builder().name("name").storageName("n").optional(true).creatable(true).updatable(true).build();
+        JacksonItemMapper<TestObject> mapper = new JacksonItemMapper<>(TestObject.class, FieldData.builder().map(ImmutableMap.of("name", name)).build());
+
+        UUID id = UUID.randomUUID();
+        Instant at = Instant.ofEpochMilli(1479334772334L);
+        TestObject object = new TestObject(id, "MyName", at, LocalDate.of(2016, 5, 12), 372);
+        Map<String,AttributeValue> attrs = mapper.toAttributeValues(object);
+        assertEquals(new AttributeValue().withS(id.toString()), attrs.get("id"));
+        assertEquals(new AttributeValue().withS("MyName"), attrs.get("n"));
+        assertFalse(attrs.containsKey("name"));
+        assertEquals(new AttributeValue().withN("1479334772334"), attrs.get("at"));
+        assertEquals(new AttributeValue().withS("2016-05-12"), attrs.get("date"));
+        assertEquals(new AttributeValue().withN("372"), attrs.get("num"));
+        assertEquals(ItemUtils.toAttributeValues(mapper.toItem(object)), attrs);
+
+        // empty strings are dropped
+        assertFalse(mapper.toAttributeValues(new TestObject(id, "", at, null, null)).containsKey("n"));
+
+        TestObject back = mapper.toObject(attrs);
+        assertEquals(id, back.getId());
+        assertEquals("MyName", back.getName());
+        assertEquals(at, back.getAt());
+        assertEquals(LocalDate.of(2016, 5, 12), back.getDate());
+        assertEquals(new Integer(372), back.getNum());
+    }
+
+    @Test
+    public void testNestedValuesMatchJsonConversion() throws Exception {
+        JacksonItemMapper<Map> mapper = new JacksonItemMapper<>(Map.class, FieldData.builder().map(ImmutableMap.of()).build());
+        Map<String,Object> map = ImmutableMap.<String,Object>builder()
+                .put("int", 5)
+                .put("long", 12345678901234L)
+                .put("double", 1.1)
+                .put("tiny", 0.1e-10)
+                .put("bool", true)
+                .put("list", ImmutableList.of(1, "x", false))
+                .put("map", ImmutableMap.of("a", "", "b", ImmutableMap.of("c", 2.5)))
+                .build();
+
+        Map<String,AttributeValue> attrs = mapper.toAttributeValues(map);
+        Item jsonItem = Item.fromJSON(mapper.getObjectMapper().writeValueAsString(map));
+        assertEquals(ItemUtils.toAttributeValues(jsonItem), attrs);
+        assertEquals(new AttributeValue().withN("0.000000000010"), attrs.get("tiny"));
+
+        Map back = mapper.toObject(attrs);
+        assertEquals(5, back.get("int"));
+        assertEquals(12345678901234L, back.get("long"));
+        assertEquals(1.1, ((Number)back.get("double")).doubleValue(), 0.0);
+        assertEquals(ImmutableList.of(1, "x", false), back.get("list"));
+        assertEquals("", ((Map)back.get("map")).get("a"));
+    }
 }
@@ -0,0 +1,64 @@
+package io.stardog.stardao.dynamodb;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class SegmentSpliteratorTest {
+    @Test
+    public void testTryAdvance() throws Exception {
+        AtomicInteger scanned = new AtomicInteger();
+        SegmentSpliterator<String> spliterator = new SegmentSpliterator<>(segment -> {
+            scanned.incrementAndGet();
+            return segment == 1 ? ImmutableList.<String>of().iterator() : ImmutableList.of(segment + "a", segment + "b").iterator();
+        }, 0, 3);
+
+        List<String> results = new ArrayList<>();
+        spliterator.tryAdvance(results::add);
+        assertEquals(1, scanned.get());
+        spliterator.forEachRemaining(results::add);
+        assertEquals(ImmutableList.of("0a", "0b", "2a", "2b"), results);
+        assertEquals(3, scanned.get());
+    }
+
+    @Test
+    public void testTrySplit() throws Exception {
+        SegmentSpliterator<Integer> spliterator = new SegmentSpliterator<>(segment -> ImmutableList.of(segment).iterator(), 0, 4);
+        Spliterator<Integer> upper = spliterator.trySplit();
+        assertNotNull(upper);
+        List<Integer> lower = new ArrayList<>();
+        spliterator.forEachRemaining(lower::add);
+        assertEquals(ImmutableList.of(0, 1), lower);
+        List<Integer> upperResults = new ArrayList<>();
+        upper.forEachRemaining(upperResults::add);
+        assertEquals(ImmutableList.of(2, 3), upperResults);
+
+        // a single unscanned segment can't be split, but a segment in progress can give away the rest
+        SegmentSpliterator<Integer> single = new SegmentSpliterator<>(segment -> ImmutableList.of(segment, segment).iterator(), 0, 1);
+        assertNull(single.trySplit());
+        SegmentSpliterator<Integer> started = new SegmentSpliterator<>(segment -> ImmutableList.of(segment, segment).iterator(), 0, 2);
+        started.tryAdvance(i -> {});
+        assertNotNull(started.trySplit());
+    }
+
+    @Test
+    public void testParallelStream() throws Exception {
+        List<Integer> results = StreamSupport.stream(new SegmentSpliterator<>(
+                segment -> ImmutableList.of(segment * 10, segment * 10 + 1).iterator(), 0, 16), true)
+                .sorted()
+                .collect(Collectors.toList());
+        assertEquals(32, results.size());
+        assertEquals(Integer.valueOf(0), results.get(0));
+        assertEquals(Integer.valueOf(151), results.get(31));
+    }
+}
@@ -0,0 +1,208 @@
+package io.stardog.stardao.dynamodb.export;
+
+import com.amazonaws.AmazonServiceException;
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.AttributeValue;
+import com.amazonaws.services.dynamodbv2.model.ConsumedCapacity;
+import com.amazonaws.services.dynamodbv2.model.ScanRequest;
+import com.amazonaws.services.dynamodbv2.model.ScanResult;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import io.stardog.stardao.dynamodb.AbstractDynamoDao;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DynamoExporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testExportParallel() throws Exception {
+        AmazonDynamoDB db = mock(AmazonDynamoDB.class);
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> scanPage(invocation.getArgument(0)));
+
+        DynamoExporter exporter = new DynamoExporter();
+        exporter.setReadCapacityPerSecond(10000);
+        File dir = folder.newFolder("export");
+        assertEquals(30, exporter.exportParallel(db, "test", dir, 3));
+
+        for (int segment = 0; segment < 3; segment++) {
+            assertEquals(expectedLines(segment), readLines(new File(dir, String.format("test-%05d.json.gz", segment))));
+        }
+        assertFalse(new File(dir, DynamoExporter.CHECKPOINT_FILE_NAME).exists());
+    }
+
+    @Test
+    public void testExportParallelWithFewerThreads() throws Exception {
+        AmazonDynamoDB db = mock(AmazonDynamoDB.class);
+        List<String> threadNames = new ArrayList<>();
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            synchronized (threadNames) {
+                threadNames.add(Thread.currentThread().getName());
+            }
+            return scanPage(invocation.getArgument(0));
+        });
+
+        DynamoExporter exporter = new DynamoExporter();
+        exporter.setThreads(1);
+        File dir = folder.newFolder("export");
+        assertEquals(30, exporter.exportParallel(db, "test", dir, 3));
+        assertEquals(1, threadNames.stream().distinct().count());
+        for (int segment = 0; segment < 3; segment++) {
+            assertEquals(expectedLines(segment), readLines(new File(dir, String.format("test-%05d.json.gz", segment))));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testExportParallelTooManySegments() throws Exception {
+        new DynamoExporter().exportParallel(mock(AmazonDynamoDB.class), "test", folder.newFolder("export"),
+                AbstractDynamoDao.MAX_SCAN_SEGMENTS + 1);
+    }
+
+    @Test
+    public void testExportParallelResumes() throws Exception {
+        // segment 1 fails after writing its first page
+        AmazonDynamoDB db = mock(AmazonDynamoDB.class);
+        AtomicBoolean failed = new AtomicBoolean();
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            if (request.getSegment() == 1 && request.getExclusiveStartKey() != null && failed.compareAndSet(false, true)) {
+                throw new AmazonServiceException("throttled");
+            }
+            return scanPage(request);
+        });
+
+        DynamoExporter exporter = new DynamoExporter();
+        File dir = folder.newFolder("export");
+        try {
+            exporter.exportParallel(db, "test", dir, 3);
+            fail("expected export to fail");
+        } catch (IOException e) {
+            assertTrue(new File(dir, DynamoExporter.CHECKPOINT_FILE_NAME).exists());
+        }
+
+        // completed segments are not scanned again, and segment 1 continues from its last key
+        List<ScanRequest> resumed = new ArrayList<>();
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            synchronized (resumed) {
+                resumed.add(request);
+            }
+            return scanPage(request);
+        });
+        assertEquals(30, exporter.exportParallel(db, "test", dir, 3));
+        assertEquals(1, resumed.size());
+        assertEquals(1, resumed.get(0).getSegment().intValue());
+        assertEquals("14", resumed.get(0).getExclusiveStartKey().get("id").getN());
+
+        for (int segment = 0; segment < 3; segment++) {
+            assertEquals(expectedLines(segment), readLines(new File(dir, String.format("test-%05d.json.gz", segment))));
+        }
+        assertFalse(new File(dir, DynamoExporter.CHECKPOINT_FILE_NAME).exists());
+    }
+
+    @Test
+    public void testExportParallelResumesBinaryKey() throws Exception {
+        Map<String,AttributeValue> binaryKey = ImmutableMap.of("id", new AttributeValue().withB(ByteBuffer.wrap(new byte[] { 1, 2, 3 })));
+        AmazonDynamoDB db = mock(AmazonDynamoDB.class);
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            ScanRequest request = invocation.getArgument(0);
+            if (request.getExclusiveStartKey() != null) {
+                throw new AmazonServiceException("throttled");
+            }
+            return new ScanResult()
+                    .withItems(ImmutableList.of(binaryKey))
+                    .withLastEvaluatedKey(binaryKey);
+        });
+
+        DynamoExporter exporter = new DynamoExporter();
+        File dir = folder.newFolder("export");
+        try {
+            exporter.exportParallel(db, "test", dir, 1);
+            fail("expected export to fail");
+        } catch (IOException e) {
+            assertTrue(new File(dir, DynamoExporter.CHECKPOINT_FILE_NAME).exists());
+        }
+
+        List<ScanRequest> resumed = new ArrayList<>();
+        when(db.scan(any(ScanRequest.class))).thenAnswer(invocation -> {
+            resumed.add(invocation.getArgument(0));
+            return new ScanResult().withItems(ImmutableList.of());
+        });
+        assertEquals(1, exporter.exportParallel(db, "test", dir, 1));
+        assertEquals(1, resumed.size());
+        assertEquals(binaryKey, resumed.get(0).getExclusiveStartKey());
+    }
+
+    @Test(expected = IOException.class)
+    public void testExportParallelCheckpointMismatch() throws Exception {
+        AmazonDynamoDB db = mock(AmazonDynamoDB.class);
+        File dir = folder.newFolder("export");
+        Files.write(new File(dir, DynamoExporter.CHECKPOINT_FILE_NAME).toPath(),
+                "{\"table\":\"test\",\"totalSegments\":4,\"segments\":[]}".getBytes(StandardCharsets.UTF_8));
+        new DynamoExporter().exportParallel(db, "test", dir, 3);
+    }
+
+    /**
+     * Each segment holds ten items, with ids segment*10 to segment*10+9, returned in pages of five.
+     */
+    private ScanResult scanPage(ScanRequest request) {
+        int start = request.getSegment() * 10;
+        if (request.getExclusiveStartKey() != null) {
+            start = Integer.parseInt(request.getExclusiveStartKey().get("id").getN()) + 1;
+        }
+        List<Map<String,AttributeValue>> items = new ArrayList<>();
+        for (int id = start; id < start + 5; id++) {
+            items.add(ImmutableMap.of("id", new AttributeValue().withN(Integer.toString(id)),
+                    "name", new AttributeValue("item" + id)));
+        }
+        Map<String,AttributeValue> lastKey = start + 5 == (request.getSegment() + 1) * 10
+                ? null : ImmutableMap.of("id", new AttributeValue().withN(Integer.toString(start + 4)));
+        return new ScanResult()
+                .withItems(items)
+                .withLastEvaluatedKey(lastKey)
+                .withConsumedCapacity(new ConsumedCapacity().withCapacityUnits(2.5));
+    }
+
+    private List<String> expectedLines(int segment) {
+        List<String> lines = new ArrayList<>();
+        for (int id = segment * 10; id < segment * 10 + 10; id++) {
+            lines.add("{\"id\":" + id + ",\"name\":\"item" + id + "\"}");
+        }
+        return lines;
+    }
+
+    private List<String> readLines(File file) throws IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+            for (String line; (line = reader.readLine()) != null; ) {
+                lines.add(line);
+            }
+        }
+        return lines;
+    }
+}
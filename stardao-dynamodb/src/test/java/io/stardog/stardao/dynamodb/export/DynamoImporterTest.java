@@ -0,0 +1,115 @@
+package io.stardog.stardao.dynamodb.export;
+
+import com.amazonaws.services.dynamodbv2.AmazonDynamoDB;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemRequest;
+import com.amazonaws.services.dynamodbv2.model.BatchWriteItemResult;
+import com.amazonaws.services.dynamodbv2.model.DescribeTableResult;
+import com.amazonaws.services.dynamodbv2.model.KeySchemaElement;
+import com.amazonaws.services.dynamodbv2.model.KeyType;
+import com.amazonaws.services.dynamodbv2.model.TableDescription;
+import com.amazonaws.services.dynamodbv2.model.WriteRequest;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DynamoImporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private AmazonDynamoDB db;
+
+    @Before
+    public void setUp() throws Exception {
+        db = mock(AmazonDynamoDB.class);
+        when(db.describeTable("test")).thenReturn(new DescribeTableResult().withTable(new TableDescription()
+                .withKeySchema(new KeySchemaElement("id", KeyType.HASH))));
+    }
+
+    @Test
+    public void testReplaceLine() throws Exception {
+        DynamoImporter importer = new DynamoImporter();
+        Instant now = Instant.parse("2018-03-01T12:00:00Z");
+        assertEquals("{\"d\":\"2018-03-01\",\"d2\":\"03/01\",\"t\":1519905600000}",
+                importer.replaceLine("{\"d\":\"{{$DATE:yyyy-MM-dd}}\",\"d2\":\"{{$DATE:MM/dd}}\",\"t\":{{$TIMESTAMP}}}", now, ZoneId.of("UTC")));
+        assertEquals("{\"id\":1}", importer.replaceLine("{\"id\":1}", now, ZoneId.of("UTC")));
+    }
+
+    @Test
+    public void testImportFromFileBatched() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 60; i++) {
+            sb.append("{\"id\":").append(i).append(",\"at\":{{$TIMESTAMP}}}\n");
+        }
+        File file = folder.newFile("items.json");
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+
+        // the first request leaves one item unprocessed, which must be retried
+        when(db.batchWriteItem(any(BatchWriteItemRequest.class))).thenAnswer(invocation -> {
+            BatchWriteItemRequest request = invocation.getArgument(0);
+            List<WriteRequest> writes = request.getRequestItems().get("test");
+            if (writes.size() == 25 && writes.get(0).getPutRequest().getItem().get("id").getN().equals("0")) {
+                return new BatchWriteItemResult().withUnprocessedItems(ImmutableMap.of("test", ImmutableList.of(writes.get(24))));
+            }
+            return new BatchWriteItemResult().withUnprocessedItems(ImmutableMap.of());
+        });
+
+        DynamoImporter importer = new DynamoImporter();
+        importer.setWriteCapacityPerSecond(10000);
+        assertEquals(60, importer.importFromFileWithRelativeDates(db, "test", file, ZoneId.of("UTC")));
+
+        ArgumentCaptor<BatchWriteItemRequest> captor = ArgumentCaptor.forClass(BatchWriteItemRequest.class);
+        verify(db, times(4)).batchWriteItem(captor.capture());
+        int written = 0;
+        for (BatchWriteItemRequest request : captor.getAllValues()) {
+            for (WriteRequest write : request.getRequestItems().get("test")) {
+                assertEquals(13, write.getPutRequest().getItem().get("at").getN().length());
+                written++;
+            }
+        }
+        assertEquals(61, written);
+    }
+
+    @Test
+    public void testDuplicateKeysSplitBatches() throws Exception {
+        File file = folder.newFile("items.json");
+        Files.write(file.toPath(), "{\"id\":1,\"v\":1}\n{\"id\":2}\n{\"id\":1,\"v\":2}\n".getBytes(StandardCharsets.UTF_8));
+        when(db.batchWriteItem(any(BatchWriteItemRequest.class))).thenReturn(new BatchWriteItemResult().withUnprocessedItems(ImmutableMap.of()));
+
+        assertEquals(3, new DynamoImporter().importFromFile(db, "test", file));
+        verify(db, atLeast(2)).batchWriteItem(any(BatchWriteItemRequest.class));
+    }
+
+    @Test
+    public void testWorkerErrorIsRethrown() throws Exception {
+        File file = folder.newFile("items.json");
+        Files.write(file.toPath(), "{\"id\":1}\n{\"id\":2}\n".getBytes(StandardCharsets.UTF_8));
+        when(db.batchWriteItem(any(BatchWriteItemRequest.class))).thenThrow(new Error("boom"));
+
+        try {
+            new DynamoImporter().importFromFile(db, "test", file);
+            fail("Expected Error");
+        } catch (Error e) {
+            assertEquals("boom", e.getMessage());
+        }
+    }
+}
@@ -3,30 +3,59 @@ package io.stardog.stardao.mongodb;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Lists;
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
 import com.mongodb.client.FindIterable;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.DeleteOneModel;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.model.IndexModel;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.WriteModel;
 import io.stardog.stardao.core.AbstractDao;
+import io.stardog.stardao.core.PrefetchSpliterator;
 import io.stardog.stardao.core.Results;
 import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.WriteResult;
 import io.stardog.stardao.core.field.Field;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.exceptions.DataNotFoundException;
 import io.stardog.stardao.mongodb.mapper.DocumentMapper;
+import io.stardog.stardao.mongodb.mapper.jackson.JacksonCodec;
 import io.stardog.stardao.mongodb.mapper.jackson.JacksonDocumentMapper;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.configuration.CodecProvider;
+import org.bson.codecs.configuration.CodecRegistries;
+import org.bson.codecs.configuration.CodecRegistry;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 
+import java.nio.ByteBuffer;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
 public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     private final MongoCollection<Document> collection;
     private final DocumentMapper<M> modelMapper;
     private final DocumentMapper<P> partialMapper;
+    private volatile boolean useCodecs;
+    private volatile MongoCollection<M> modelCollection;
+    private volatile MongoCollection<P> partialCollection;
+    private volatile JacksonCodec<M> modelCodec;
+    private final Map<Set<String>,Document> projectionCache = new ConcurrentHashMap<>();
     public static final String ID_FIELD = "_id";
+    public static final int LOAD_MANY_BATCH_SIZE = 1000;
+    public static final int BULK_WRITE_BATCH_SIZE = 1000;
 
     public AbstractMongoDao(Class<M> modelClass, Class<P> partialClass, MongoCollection<Document> collection) {
         super(modelClass, partialClass);
@@ -84,6 +113,78 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return partialMapper;
     }
 
+    /**
+     * Return the collection typed to the model class, which encodes and decodes model objects directly to and from
+     * BSON using a JacksonCodec.
+     * @return  typed collection
+     * @throws IllegalStateException    if the model mapper is not a JacksonDocumentMapper
+     */
+    public MongoCollection<M> getModelCollection() {
+        if (modelCollection == null) {
+            modelCollection = toTypedCollection(getModelClass(), modelMapper);
+        }
+        return modelCollection;
+    }
+
+    /**
+     * Return the collection typed to the partial class, which encodes and decodes partial objects directly to and
+     * from BSON using a JacksonCodec.
+     * @return  typed collection
+     * @throws IllegalStateException    if the partial mapper is not a JacksonDocumentMapper
+     */
+    public MongoCollection<P> getPartialCollection() {
+        if (partialCollection == null) {
+            partialCollection = toTypedCollection(getPartialClass(), partialMapper);
+        }
+        return partialCollection;
+    }
+
+    /**
+     * Return the codec that decodes raw BSON into model objects, as used by the lazily decoded views.
+     * @return  model codec
+     * @throws IllegalStateException    if the model mapper is not a JacksonDocumentMapper
+     */
+    public JacksonCodec<M> getModelCodec() {
+        if (modelCodec == null) {
+            if (!(modelMapper instanceof JacksonDocumentMapper)) {
+                throw new IllegalStateException("Lazy models require a JacksonDocumentMapper");
+            }
+            modelCodec = ((JacksonDocumentMapper<M>)modelMapper).toCodec(getCollection().getCodecRegistry());
+        }
+        return modelCodec;
+    }
+
+    protected <T> MongoCollection<T> toTypedCollection(Class<T> type, DocumentMapper<T> mapper) {
+        if (!(mapper instanceof JacksonDocumentMapper)) {
+            throw new IllegalStateException("Typed collections require a JacksonDocumentMapper");
+        }
+        CodecRegistry registry = getCollection().getCodecRegistry();
+        Codec<T> codec = ((JacksonDocumentMapper<T>)mapper).toCodec(registry);
+        // match subclasses too, since model objects are often generated implementations (AutoValue_*, etc)
+        CodecProvider provider = new CodecProvider() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <C> Codec<C> get(Class<C> clazz, CodecRegistry codecRegistry) {
+                return type.isAssignableFrom(clazz) ? (Codec<C>)codec : null;
+            }
+        };
+        CodecRegistry typedRegistry = CodecRegistries.fromRegistries(CodecRegistries.fromProviders(provider), registry);
+        return getCollection().withDocumentClass(type).withCodecRegistry(typedRegistry);
+    }
+
+    /**
+     * Enable or disable reading through the typed collections. When enabled, loads by id and iterateAll() decode
+     * BSON straight into model objects, without building an intermediate Document. Disabled by default.
+     * @param useCodecs true to read through the typed collections
+     */
+    public void setUseCodecs(boolean useCodecs) {
+        this.useCodecs = useCodecs;
+    }
+
+    public boolean isUseCodecs() {
+        return useCodecs;
+    }
+
     protected Object generateId() {
         return new ObjectId();
     }
@@ -95,9 +196,14 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
      */
     @Override
     public Optional<M> loadOpt(K id) {
-        Document query = new Document(ID_FIELD, id);
-        Document doc = getCollection().find(query).limit(1).first();
-        return Optional.ofNullable(modelMapper.toObject(doc));
+        return coalesceLoad(id, () -> {
+            Document query = new Document(ID_FIELD, id);
+            if (useCodecs) {
+                return Optional.ofNullable(getModelCollection().find(query).limit(1).first());
+            }
+            Document doc = getCollection().find(query).limit(1).first();
+            return Optional.ofNullable(modelMapper.toObject(doc));
+        });
     }
 
     /**
@@ -107,7 +213,70 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
      * @return
      */
     public Optional<P> loadOpt(K id, Iterable<String> fields) {
-        Document query = new Document(ID_FIELD, id);
+        return coalesceLoad(id, fields, () -> {
+            Document query = new Document(ID_FIELD, id);
+            if (useCodecs) {
+                return Optional.ofNullable(getPartialCollection().find(query).projection(getProjection(fields)).limit(1).first());
+            }
+            Document doc = getCollection().find(query).projection(getProjection(fields)).limit(1).first();
+            return Optional.ofNullable(partialMapper.toObject(doc));
+        });
+    }
+
+    /**
+     * Load multiple objects by id, using $in queries of up to LOAD_MANY_BATCH_SIZE ids each.
+     * @param ids   primary key values
+     * @return  map of id to object, in the order the ids were given; ids not found are omitted
+     */
+    @Override
+    public Map<K,M> loadMany(Collection<K> ids) {
+        Map<Object,M> found = new HashMap<>();
+        for (List<K> batch : Lists.partition(new ArrayList<>(new LinkedHashSet<>(ids)), LOAD_MANY_BATCH_SIZE)) {
+            Document query = new Document(ID_FIELD, new Document("$in", batch));
+            for (Document doc : getCollection().find(query)) {
+                found.put(doc.get(ID_FIELD), modelMapper.toObject(doc));
+            }
+        }
+        return toOrderedMap(ids, found);
+    }
+
+    /**
+     * Load multiple partial objects by id, using $in queries of up to LOAD_MANY_BATCH_SIZE ids each.
+     * @param ids   primary key values
+     * @param fields    set of fields to return
+     * @return  map of id to partial object, in the order the ids were given; ids not found are omitted
+     */
+    @Override
+    public Map<K,P> loadMany(Collection<K> ids, Iterable<String> fields) {
+        Document projection = getProjection(fields);
+        Map<Object,P> found = new HashMap<>();
+        for (List<K> batch : Lists.partition(new ArrayList<>(new LinkedHashSet<>(ids)), LOAD_MANY_BATCH_SIZE)) {
+            Document query = new Document(ID_FIELD, new Document("$in", batch));
+            for (Document doc : getCollection().find(query).projection(projection)) {
+                found.put(doc.get(ID_FIELD), partialMapper.toObject(doc));
+            }
+        }
+        return toOrderedMap(ids, found);
+    }
+
+    private <T> Map<K,T> toOrderedMap(Collection<K> ids, Map<Object,T> found) {
+        Map<K,T> results = new LinkedHashMap<>();
+        for (K id : ids) {
+            T object = found.get(id);
+            if (object != null) {
+                results.put(id, object);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Convert a list of model field names into a MongoDB projection on their storage names.
+     * @param fields    model field names
+     * @return  projection document
+     * @throws IllegalArgumentException if any of the fields is unknown
+     */
+    protected Document toProjection(Iterable<String> fields) {
         Document project = new Document();
         FieldData fieldData = getFieldData();
         for (String fieldName : fields) {
@@ -118,8 +287,18 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
             String storageName = internalField.getStorageName();
             project.append(storageName, 1);
         }
-        Document doc = getCollection().find(query).projection(project).limit(1).first();
-        return Optional.ofNullable(partialMapper.toObject(doc));
+        return project;
+    }
+
+    /**
+     * Return the storage-name projection for a set of model field names, compiling it with toProjection() the first
+     * time a given set of fields is seen. The returned document is shared and must not be modified.
+     * @param fields    model field names
+     * @return  projection document
+     * @throws IllegalArgumentException if any of the fields is unknown
+     */
+    protected Document getProjection(Iterable<String> fields) {
+        return projectionCache.computeIfAbsent(ImmutableSet.copyOf(fields), this::toProjection);
     }
 
     /**
@@ -204,6 +383,33 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return iterable.map(doc -> getModelMapper().toObject(doc));
     }
 
+    /**
+     * Given a query and a sort, return all documents that match the query in sorted order, as lazily decoded views.
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @return  results of lazy models
+     */
+    protected Results<LazyModel<M>,K> findLazyByQuery(Bson query, Bson sort) {
+        return Results.of(iterateLazyByQuery(query, sort));
+    }
+
+    /**
+     * Given a query and a sort, iterate through all documents that match the query in sorted order, as lazily
+     * decoded views. The documents are fetched as raw BSON, and each field is only decoded when it is read, which
+     * suits list endpoints that read a few fields out of large documents.
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @return  iterable of lazy models
+     */
+    protected Iterable<LazyModel<M>> iterateLazyByQuery(Bson query, Bson sort) {
+        JacksonCodec<M> codec = getModelCodec();
+        FindIterable<RawBsonDocument> iterable = getCollection().find(query, RawBsonDocument.class);
+        if (sort != null) {
+            iterable = iterable.sort(sort);
+        }
+        return iterable.map(doc -> new LazyModel<>(doc, codec, getFieldData()));
+    }
+
     /**
      * Given a query, a sort, and a projection of fields to return, return all documents as partials
      * that match the query in sorted order
@@ -235,11 +441,80 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return iterable.map(doc -> getPartialMapper().toObject(doc));
     }
 
+    /**
+     * Given a query, a sort, and a list of model fields to return, return all documents as partials
+     * that match the query in sorted order
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @param fields    model field names to return
+     * @return  results of partial objects
+     * @throws IllegalArgumentException if any of the fields is unknown
+     */
+    protected Results<P,K> findByQuery(Bson query, Bson sort, Iterable<String> fields) {
+        return Results.of(iterateByQuery(query, sort, fields));
+    }
+
+    /**
+     * Given a query, a sort, and a list of model fields to return, iterate through all documents as partials
+     * that match the query in sorted order. The fields are translated to a projection on their storage names, so
+     * only those fields are read; with codecs enabled, they are decoded straight into the partial class.
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @param fields    model field names to return
+     * @return  iterable of partial objects
+     * @throws IllegalArgumentException if any of the fields is unknown
+     */
+    protected Iterable<P> iterateByQuery(Bson query, Bson sort, Iterable<String> fields) {
+        Document projection = getProjection(fields);
+        if (useCodecs) {
+            FindIterable<P> iterable = getPartialCollection().find(query).projection(projection);
+            return sort != null ? iterable.sort(sort) : iterable;
+        }
+        FindIterable<Document> iterable = getCollection().find(query).projection(projection);
+        if (sort != null) {
+            iterable = iterable.sort(sort);
+        }
+        return iterable.map(doc -> getPartialMapper().toObject(doc));
+    }
+
     @Override
     public Iterable<M> iterateAll() {
+        if (useCodecs) {
+            return getModelCollection().find();
+        }
         return getCollection().find().map((d) -> modelMapper.toObject(d));
     }
 
+    /**
+     * Stream all objects in the collection. Documents are read from the cursor on a dedicated fetch thread; call
+     * parallel() on the stream to map them to model objects on the fork-join pool. The stream holds the cursor open
+     * until it is exhausted, so it must be closed, e.g. with try-with-resources.
+     * @return  sequential stream of all objects
+     */
+    @Override
+    public Stream<M> streamAll() {
+        return streamByQuery(new Document(), null);
+    }
+
+    /**
+     * Given a query and a sort, stream all documents that match the query. Documents are read from the cursor on a
+     * dedicated fetch thread; call parallel() on the stream to map them to model objects on the fork-join pool. The
+     * stream is ordered, so operations such as forEachOrdered() still see the objects in sorted order even when
+     * parallel. The stream must be closed, e.g. with try-with-resources.
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @return  sequential stream of model objects
+     */
+    protected Stream<M> streamByQuery(Bson query, Bson sort) {
+        return PrefetchSpliterator.stream(() -> {
+            FindIterable<Document> iterable = getCollection().find(query).batchSize(PrefetchSpliterator.DEFAULT_BATCH_SIZE);
+            if (sort != null) {
+                iterable = iterable.sort(sort);
+            }
+            return iterable.iterator();
+        }, modelMapper::toObject, getCollectionName() + "-fetch");
+    }
+
     /**
      * Given a FindIterable query, add skip and limit to the query and return a resultset. The results will have
      * a next integer as the next "skip" value to use, or empty optional if we've exhausted results.
@@ -317,6 +592,117 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         }
     }
 
+    /**
+     * Paginate through a query using keyset pagination over a multi-field sort. The cursor records the sort values
+     * of the last object returned, and the next page is found with a tuple comparison against them, e.g. for a sort
+     * of {createAt: -1, _id: -1}:
+     *    {$or: [{createAt: {$lt: c}}, {createAt: c, _id: {$lt: i}}]}
+     * so that, given an index matching the sort, every page costs the same however deep it is, and ties on the
+     * leading sort fields are neither repeated nor skipped.
+     *
+     * If the sort does not include _id, it is appended as a final tiebreaker in the direction of the last sort
+     * field, so every document has a unique position. Sort fields should be present in every matching document.
+     *
+     * @param query MongoDB query
+     * @param sort  MongoDB sort order
+     * @param cursor    cursor returned as the next value of the previous page, or null to start at the beginning
+     * @param limit number of results to limit
+     * @return  results containing up to limit objects, and a cursor to the next page if there are more
+     * @throws IllegalArgumentException if the cursor is malformed or was created for a different sort
+     */
+    protected Results<M,String> findWithKeysetPagination(Bson query, Bson sort, String cursor, int limit) {
+        Document sortDoc = toKeysetSort(sort);
+        Bson find = query;
+        if (cursor != null) {
+            find = Filters.and(query, toKeysetFilter(sortDoc, decodeKeysetCursor(sortDoc, cursor)));
+        }
+
+        ImmutableList.Builder<M> builder = ImmutableList.builder();
+        Document lastDoc = null;
+        int foundCount = 0;
+        // query for one more object than we actually need, in order to determine whether there is a "next" page
+        for (Document doc : getCollection().find(find).sort(sortDoc).limit(limit + 1)) {
+            if (++foundCount > limit) {
+                return Results.of(builder.build(), encodeKeysetCursor(sortDoc, lastDoc));
+            }
+            builder.add(modelMapper.toObject(doc));
+            lastDoc = doc;
+        }
+        return Results.of(builder.build());
+    }
+
+    private Document toKeysetSort(Bson sort) {
+        Document sortDoc = new Document();
+        int lastDirection = 1;
+        if (sort != null) {
+            BsonDocument bsonSort = sort.toBsonDocument(Document.class, getCollection().getCodecRegistry());
+            for (Map.Entry<String,BsonValue> entry : bsonSort.entrySet()) {
+                if (!entry.getValue().isNumber()) {
+                    throw new IllegalArgumentException("Keyset pagination requires a numeric sort direction: " + entry);
+                }
+                lastDirection = entry.getValue().asNumber().intValue() < 0 ? -1 : 1;
+                sortDoc.append(entry.getKey(), lastDirection);
+            }
+        }
+        if (!sortDoc.containsKey(ID_FIELD)) {
+            sortDoc.append(ID_FIELD, lastDirection);
+        }
+        return sortDoc;
+    }
+
+    private Bson toKeysetFilter(Document sortDoc, Document cursorValues) {
+        List<Bson> clauses = new ArrayList<>();
+        List<Bson> equalities = new ArrayList<>();
+        for (Map.Entry<String,Object> entry : sortDoc.entrySet()) {
+            String field = entry.getKey();
+            Object value = cursorValues.get(field);
+            Bson comparison = (Integer)entry.getValue() < 0 ? Filters.lt(field, value) : Filters.gt(field, value);
+            List<Bson> clause = new ArrayList<>(equalities);
+            clause.add(comparison);
+            clauses.add(clause.size() == 1 ? clause.get(0) : Filters.and(clause));
+            equalities.add(Filters.eq(field, value));
+        }
+        return clauses.size() == 1 ? clauses.get(0) : Filters.or(clauses);
+    }
+
+    private String encodeKeysetCursor(Document sortDoc, Document lastDoc) {
+        Document values = new Document();
+        for (String field : sortDoc.keySet()) {
+            values.append(field, getPathValue(lastDoc, field));
+        }
+        // encoding as raw BSON preserves the exact type of every value, such as ObjectIds, dates and decimals
+        RawBsonDocument raw = new RawBsonDocument(values, getCollection().getCodecRegistry().get(Document.class));
+        ByteBuffer bytes = raw.getByteBuffer().asNIO();
+        byte[] array = new byte[bytes.remaining()];
+        bytes.get(array);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(array);
+    }
+
+    private Document decodeKeysetCursor(Document sortDoc, String cursor) {
+        Document values;
+        try {
+            values = new RawBsonDocument(Base64.getUrlDecoder().decode(cursor))
+                    .decode(getCollection().getCodecRegistry().get(Document.class));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+        if (!new ArrayList<>(values.keySet()).equals(new ArrayList<>(sortDoc.keySet()))) {
+            throw new IllegalArgumentException("Cursor does not match sort " + sortDoc.keySet() + ": " + cursor);
+        }
+        return values;
+    }
+
+    private Object getPathValue(Document doc, String path) {
+        Object value = doc;
+        for (String part : path.split("\\.")) {
+            if (!(value instanceof Document)) {
+                return null;
+            }
+            value = ((Document)value).get(part);
+        }
+        return value;
+    }
+
     protected <T> T getFieldValue(Document doc, String field, Class<T> type) {
         if (type == LocalDate.class) {
             return type.cast(LocalDate.parse(doc.getString(field)));
@@ -347,6 +733,39 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
 
     @Override
     public M create(P partial, Instant createAt, I createBy) {
+        Document doc = toCreateDocument(partial, createAt, createBy);
+        M model = modelMapper.toObject(doc);
+        getCollection().insertOne(doc);
+        return model;
+    }
+
+    /**
+     * Create multiple objects using unordered bulk writes of up to BULK_WRITE_BATCH_SIZE inserts each.
+     * @param partials  objects to create
+     * @param createAt  timestamp of the creation
+     * @param createBy  user id of the creator
+     * @return  one result per object, in order, containing the created object
+     */
+    @Override
+    public List<WriteResult<M>> createAll(Iterable<P> partials, Instant createAt, I createBy) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        List<M> models = new ArrayList<>();
+        for (P partial : partials) {
+            Document doc = toCreateDocument(partial, createAt, createBy);
+            models.add(modelMapper.toObject(doc));
+            writes.add(new InsertOneModel<>(doc));
+        }
+        return bulkWrite(writes, models);
+    }
+
+    /**
+     * Return a MongoDB document from a partial, adding the id and timestamp and user id fields as needed
+     * @param partial   partial to convert to a document
+     * @param createAt  create timestamp, or null
+     * @param createBy  creator id, or null
+     * @return  document that can be inserted into MongoDB
+     */
+    protected Document toCreateDocument(P partial, Instant createAt, I createBy) {
         Document doc = partialMapper.toDocument(partial);
         if (doc.get(ID_FIELD) == null) {
             doc.put(ID_FIELD, generateId());
@@ -371,9 +790,7 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
                 && doc.get(fieldData.getUpdatedBy().getStorageName()) == null) {
             doc.put(fieldData.getUpdatedBy().getStorageName(), createBy);
         }
-        M model = modelMapper.toObject(doc);
-        getCollection().insertOne(doc);
-        return model;
+        return doc;
     }
 
     @Override
@@ -383,6 +800,25 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         getCollection().updateOne(query, upDoc);
     }
 
+    /**
+     * Update multiple objects using unordered bulk writes of up to BULK_WRITE_BATCH_SIZE updates each.
+     * @param updates   map of object id to update data
+     * @param updateAt    timestamp of the update
+     * @param updateBy    user id of the user who performed the update
+     * @return  one result per update, in order, containing the id of the object
+     */
+    @Override
+    public List<WriteResult<K>> updateAll(Map<K,Update<P>> updates, Instant updateAt, I updateBy) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        List<K> ids = new ArrayList<>();
+        for (Map.Entry<K,Update<P>> e : updates.entrySet()) {
+            Document query = new Document(ID_FIELD, e.getKey());
+            writes.add(new UpdateOneModel<>(query, toUpdateDocument(e.getValue(), updateAt, updateBy)));
+            ids.add(e.getKey());
+        }
+        return bulkWrite(writes, ids);
+    }
+
     @Override
     public M updateAndReturn(K id, Update<P> update, Instant updateAt, I updateBy) {
         Document upDoc = toUpdateDocument(update, updateAt, updateBy);
@@ -394,13 +830,17 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     protected Document toUpdateDocument(Update<P> update, Instant updateAt, I updateBy) {
         Document doc = new Document();
 
-        Document setFields = partialMapper.toDocument(update.getPartial());
+        FieldData fieldData = getFieldData();
+        Document setFields = partialMapper instanceof JacksonDocumentMapper
+                ? ((JacksonDocumentMapper<P>)partialMapper).toDocument(update.getPartial(), update.getSetFields(),
+                        getCollection().getCodecRegistry())
+                : partialMapper.toDocument(update.getPartial());
         Document set = new Document();
         for (String field : update.getSetFields()) {
-            set.put(field, setFields.get(field));
+            String storageName = toStorageName(fieldData, field);
+            set.put(storageName, setFields.get(storageName));
         }
 
-        FieldData fieldData = getFieldData();
         if (updateAt != null && fieldData.getUpdatedAt() != null) {
             set.put(fieldData.getUpdatedAt().getStorageName(), Date.from(updateAt));
         }
@@ -410,7 +850,7 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
 
         Document unset = new Document();
         for (String field : update.getRemoveFields()) {
-            unset.put(field, 1);
+            unset.put(toStorageName(fieldData, field), 1);
         }
 
         if (!set.isEmpty()) {
@@ -424,12 +864,67 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
         return doc;
     }
 
+    private static String toStorageName(FieldData fieldData, String fieldName) {
+        Field field = fieldData.getMap().get(fieldName);
+        return field != null ? field.getStorageName() : fieldName;
+    }
+
     @Override
     public void delete(K id) {
         Document query = new Document(ID_FIELD, id);
         getCollection().deleteOne(query);
     }
 
+    /**
+     * Delete multiple objects by id using unordered bulk writes of up to BULK_WRITE_BATCH_SIZE deletes each.
+     * @param ids   ids of the objects to delete
+     * @return  one result per id, in order
+     */
+    @Override
+    public List<WriteResult<K>> deleteAll(Collection<K> ids) {
+        List<WriteModel<Document>> writes = new ArrayList<>();
+        for (K id : ids) {
+            writes.add(new DeleteOneModel<>(new Document(ID_FIELD, id)));
+        }
+        return bulkWrite(writes, new ArrayList<>(ids));
+    }
+
+    /**
+     * Perform writes as a series of unordered bulk writes, reporting the outcome of each write individually.
+     * @param writes    writes to perform
+     * @param values    value to report in the result for each write, matched by position
+     * @return  one result per write, in order
+     */
+    protected <T> List<WriteResult<T>> bulkWrite(List<WriteModel<Document>> writes, List<T> values) {
+        ImmutableList.Builder<WriteResult<T>> results = ImmutableList.builder();
+        BulkWriteOptions options = new BulkWriteOptions().ordered(false);
+        for (int start = 0; start < writes.size(); start += BULK_WRITE_BATCH_SIZE) {
+            int end = Math.min(start + BULK_WRITE_BATCH_SIZE, writes.size());
+            Map<Integer,String> errors = new HashMap<>();
+            try {
+                getCollection().bulkWrite(writes.subList(start, end), options);
+            } catch (MongoBulkWriteException e) {
+                for (BulkWriteError error : e.getWriteErrors()) {
+                    errors.put(start + error.getIndex(), error.getMessage());
+                }
+                if (e.getWriteConcernError() != null) {
+                    for (int i = start; i < end; i++) {
+                        errors.putIfAbsent(i, e.getWriteConcernError().getMessage());
+                    }
+                }
+            } catch (RuntimeException e) {
+                for (int i = start; i < end; i++) {
+                    errors.put(i, e.toString());
+                }
+            }
+            for (int i = start; i < end; i++) {
+                String error = errors.get(i);
+                results.add(error == null ? WriteResult.success(values.get(i)) : WriteResult.failure(values.get(i), error));
+            }
+        }
+        return results.build();
+    }
+
     @Override
     public void initTable() {
         for (IndexModel index : getIndexes()) {
@@ -447,17 +942,17 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
     }
 
     public Update<P> updateOf(P object) {
-        ImmutableSet.Builder<String> attribs = ImmutableSet.builder();
-        if (object != null) {
-            Document doc = partialMapper.toDocument(object);
-            for (String key : doc.keySet()) {
-                attribs.add(key);
-            }
-        }
-        return Update.of(object, attribs.build());
+        return Update.of(object, toSetFields(object));
     }
 
     public Update<P> updateOf(P object, Iterable<String> removeFields) {
+        return Update.of(object, toSetFields(object), ImmutableSet.copyOf(removeFields));
+    }
+
+    private Set<String> toSetFields(P object) {
+        if (partialMapper instanceof JacksonDocumentMapper) {
+            return ((JacksonDocumentMapper<P>)partialMapper).toFieldNames(object);
+        }
         ImmutableSet.Builder<String> attribs = ImmutableSet.builder();
         if (object != null) {
             Document doc = partialMapper.toDocument(object);
@@ -465,6 +960,6 @@ public abstract class AbstractMongoDao<M,P,K,I> extends AbstractDao<M,P,K,I> {
                 attribs.add(key);
             }
         }
-        return Update.of(object, attribs.build(), ImmutableSet.copyOf(removeFields));
+        return attribs.build();
     }
 }
@@ -0,0 +1,107 @@
+package io.stardog.stardao.mongodb;
+
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.MongoCollection;
+import io.stardog.stardao.core.AsyncDao;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.exceptions.DataNotFoundException;
+import org.bson.Document;
+
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking MongoDB Dao, backed by the MongoDB async driver. It delegates field data, document mapping, and
+ * create/update document building to a regular AbstractMongoDao, so objects are stored exactly as the synchronous
+ * Dao would store them.
+ *
+ * The async driver is an optional dependency of stardao-mongodb; projects using this class must declare
+ * org.mongodb:mongodb-driver-async themselves, at the same version as mongo-java-driver.
+ */
+public class AsyncMongoDao<M,P,K,I> implements AsyncDao<M,P,K> {
+    private final AbstractMongoDao<M,P,K,I> dao;
+    private final MongoCollection<Document> collection;
+
+    public AsyncMongoDao(AbstractMongoDao<M,P,K,I> dao, MongoCollection<Document> collection) {
+        this.dao = dao;
+        this.collection = collection;
+    }
+
+    public AbstractMongoDao<M,P,K,I> getDao() {
+        return dao;
+    }
+
+    public MongoCollection<Document> getCollection() {
+        return collection;
+    }
+
+    @Override
+    public CompletableFuture<M> load(K id) {
+        return loadOpt(id).thenApply(model -> model
+                .orElseThrow(() -> new DataNotFoundException(dao.getDisplayModelName() + " not found: " + id)));
+    }
+
+    @Override
+    public CompletableFuture<Optional<M>> loadOpt(K id) {
+        CompletableFuture<Document> future = new CompletableFuture<>();
+        getCollection().find(new Document(AbstractMongoDao.ID_FIELD, id)).limit(1).first(complete(future));
+        return future.thenApply(doc -> Optional.ofNullable(dao.getModelMapper().toObject(doc)));
+    }
+
+    @Override
+    public CompletableFuture<M> create(P partial) {
+        return create(partial, Instant.now(), null);
+    }
+
+    public CompletableFuture<M> create(P partial, Instant createAt, I createBy) {
+        Document doc = dao.toCreateDocument(partial, createAt, createBy);
+        M model = dao.getModelMapper().toObject(doc);
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        getCollection().insertOne(doc, complete(future));
+        return future.thenApply(v -> model);
+    }
+
+    @Override
+    public CompletableFuture<Void> update(K id, Update<P> update) {
+        return update(id, update, Instant.now(), null);
+    }
+
+    public CompletableFuture<Void> update(K id, Update<P> update, Instant updateAt, I updateBy) {
+        Document query = new Document(AbstractMongoDao.ID_FIELD, id);
+        Document upDoc = dao.toUpdateDocument(update, updateAt, updateBy);
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        getCollection().updateOne(query, upDoc, complete(future));
+        return future.thenApply(result -> null);
+    }
+
+    @Override
+    public CompletableFuture<M> updateAndReturn(K id, Update<P> update) {
+        return updateAndReturn(id, update, Instant.now(), null);
+    }
+
+    public CompletableFuture<M> updateAndReturn(K id, Update<P> update, Instant updateAt, I updateBy) {
+        Document query = new Document(AbstractMongoDao.ID_FIELD, id);
+        Document upDoc = dao.toUpdateDocument(update, updateAt, updateBy);
+        CompletableFuture<Document> future = new CompletableFuture<>();
+        getCollection().findOneAndUpdate(query, upDoc, complete(future));
+        return future.thenApply(found -> dao.getModelMapper().toObject(found));
+    }
+
+    @Override
+    public CompletableFuture<Void> delete(K id) {
+        CompletableFuture<Object> future = new CompletableFuture<>();
+        getCollection().deleteOne(new Document(AbstractMongoDao.ID_FIELD, id), complete(future));
+        return future.thenApply(result -> null);
+    }
+
+    private static <T> SingleResultCallback<T> complete(CompletableFuture<? super T> future) {
+        return (result, t) -> {
+            if (t != null) {
+                future.completeExceptionally(t);
+            } else {
+                future.complete(result);
+            }
+        };
+    }
+}
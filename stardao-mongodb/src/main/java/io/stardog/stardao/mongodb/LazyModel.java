@@ -0,0 +1,103 @@
+package io.stardog.stardao.mongodb;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.JavaType;
+import io.stardog.stardao.core.field.Field;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.mongodb.mapper.jackson.JacksonCodec;
+import org.bson.RawBsonDocument;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A lazily decoded view of a model object, backed by the raw BSON returned by MongoDB. Fields are looked up by their
+ * model names and decoded on first access, so fields that are never read (large nested arrays, etc) are never
+ * decoded. Each field is decoded once and kept for later calls, so a field should always be read as the same type.
+ *
+ * Views are not thread-safe.
+ * @param <M>   model type
+ */
+public class LazyModel<M> {
+    private final RawBsonDocument document;
+    private final JacksonCodec<M> codec;
+    private final FieldData fieldData;
+    private final Map<String,Object> decoded = new HashMap<>();
+    private M model;
+
+    public LazyModel(RawBsonDocument document, JacksonCodec<M> codec, FieldData fieldData) {
+        this.document = document;
+        this.codec = codec;
+        this.fieldData = fieldData;
+    }
+
+    public RawBsonDocument getDocument() {
+        return document;
+    }
+
+    /**
+     * Return whether the document contains a field.
+     * @param fieldName model field name
+     * @return  true if the field is present in the document
+     * @throws IllegalArgumentException if the field is unknown
+     */
+    public boolean has(String fieldName) {
+        return document.containsKey(toStorageName(fieldName));
+    }
+
+    /**
+     * Return the value of a field, decoding it on first access.
+     * @param fieldName model field name
+     * @param type  type of the field
+     * @param <T>   field type
+     * @return  field value, or null if the field is missing or null
+     * @throws IllegalArgumentException if the field is unknown
+     */
+    public <T> T get(String fieldName, Class<T> type) {
+        return get(fieldName, codec.getObjectMapper().getTypeFactory().constructType(type));
+    }
+
+    /**
+     * Return the value of a field of a generic type, such as a list or an Optional, decoding it on first access.
+     * @param fieldName model field name
+     * @param type  type of the field
+     * @param <T>   field type
+     * @return  field value, or the type's null value if the field is missing or null
+     * @throws IllegalArgumentException if the field is unknown
+     */
+    public <T> T get(String fieldName, TypeReference<T> type) {
+        return get(fieldName, codec.getObjectMapper().getTypeFactory().constructType(type));
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T get(String fieldName, JavaType type) {
+        if (!decoded.containsKey(fieldName)) {
+            decoded.put(fieldName, codec.decodeField(document, toStorageName(fieldName), type));
+        }
+        return (T)decoded.get(fieldName);
+    }
+
+    /**
+     * Decode the whole document into a model object.
+     * @return  model object
+     */
+    public M toModel() {
+        if (model == null) {
+            model = document.decode(codec);
+        }
+        return model;
+    }
+
+    private String toStorageName(String fieldName) {
+        Field field = fieldData.getMap().get(fieldName);
+        if (field == null) {
+            throw new IllegalArgumentException("Unknown field: " + fieldName);
+        }
+        return field.getStorageName();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyModel{" + document.toJson() + "}";
+    }
+}
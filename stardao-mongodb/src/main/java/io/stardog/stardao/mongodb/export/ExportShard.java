@@ -0,0 +1,18 @@
+package io.stardog.stardao.mongodb.export;
+
+import com.google.auto.value.AutoValue;
+
+/**
+ * One shard written by a parallel export: a compressed file holding the documents of one _id range.
+ */
+@AutoValue
+public abstract class ExportShard {
+    public abstract String getFileName();
+    public abstract long getCount();
+    public abstract long getBytes();
+    public abstract String getSha256();
+
+    public static ExportShard of(String fileName, long count, long bytes, String sha256) {
+        return new AutoValue_ExportShard(fileName, count, bytes, sha256);
+    }
+}
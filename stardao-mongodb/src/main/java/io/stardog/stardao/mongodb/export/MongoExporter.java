@@ -1,15 +1,72 @@
 package io.stardog.stardao.mongodb.export;
 
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.Hashing;
+import com.google.common.hash.HashingOutputStream;
+import com.google.common.io.CountingOutputStream;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.Sorts;
+import org.bson.BsonDocument;
+import org.bson.BsonType;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.bson.json.JsonMode;
+import org.bson.json.JsonWriterSettings;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
 
+import java.io.BufferedOutputStream;
 import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.zip.GZIPOutputStream;
 
 public class MongoExporter {
+    public static final String MANIFEST_FILE_NAME = "manifest.json";
+    public static final int SAMPLES_PER_PARTITION = 20;
+
+    /**
+     * Shard formats for a parallel export. Shards are always gzip-compressed.
+     */
+    public enum Format {
+        /** one extended JSON document per line, as written by export() and read by MongoImporter */
+        NDJSON("json.gz"),
+        /** concatenated raw BSON documents, as written by mongodump */
+        BSON("bson.gz");
+
+        private final String extension;
+
+        Format(String extension) {
+            this.extension = extension;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
     public void export(MongoCollection<Document> collection, File file) throws IOException {
         BufferedWriter writer = new BufferedWriter(new FileWriter(file));
         export(collection, writer);
@@ -23,4 +80,209 @@ public class MongoExporter {
             writer.write('\n');
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Export a collection in parallel as gzip-compressed NDJSON shards.
+     * @param collection    collection to export
+     * @param directory directory to write the shards and manifest to
+     * @param partitions    number of _id ranges to export concurrently
+     * @return  the shards written
+     * @throws IOException  if a shard or the manifest cannot be written
+     */
+    public List<ExportShard> exportParallel(MongoCollection<Document> collection, File directory, int partitions) throws IOException {
+        return exportParallel(collection, directory, partitions, Format.NDJSON);
+    }
+
+    /**
+     * Export a collection in parallel. The collection is split into _id ranges using boundaries sampled from the
+     * collection, and each range is read on its own cursor and written to its own compressed shard. Documents are
+     * read as raw BSON, so they are never decoded into Documents. A manifest listing each shard with its document
+     * count, size and SHA-256 checksum is written alongside the shards.
+     * @param collection    collection to export
+     * @param directory directory to write the shards and manifest to
+     * @param partitions    number of _id ranges to export concurrently
+     * @param format    shard format
+     * @return  the shards written
+     * @throws IOException  if a shard or the manifest cannot be written
+     */
+    public List<ExportShard> exportParallel(MongoCollection<Document> collection, File directory, int partitions,
+                                            Format format) throws IOException {
+        if (partitions < 1) {
+            throw new IllegalArgumentException("partitions must be at least 1: " + partitions);
+        }
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Unable to create export directory: " + directory);
+        }
+        String collectionName = collection.getNamespace().getCollectionName();
+        List<Bson> filters = toPartitionFilters(collection, partitions);
+
+        ExecutorService executor = Executors.newFixedThreadPool(Math.min(partitions, filters.size()),
+                new ThreadFactoryBuilder().setNameFormat(collectionName + "-export-%d").setDaemon(true).build());
+        List<ExportShard> shards = new ArrayList<>();
+        try {
+            List<Future<ExportShard>> futures = new ArrayList<>();
+            for (int i = 0; i < filters.size(); i++) {
+                Bson filter = filters.get(i);
+                File file = new File(directory, String.format("%s-%05d.%s", collectionName, i, format.getExtension()));
+                futures.add(executor.submit(() -> exportShard(collection, filter, file, format)));
+            }
+            for (Future<ExportShard> future : futures) {
+                shards.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while exporting " + collectionName, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException)e.getCause()).getCause();
+            }
+            throw new IOException("Problem exporting " + collectionName + ": " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<BsonDocument> filterDocs = new ArrayList<>();
+        for (Bson filter : filters) {
+            filterDocs.add(filter.toBsonDocument(Document.class, collection.getCodecRegistry()));
+        }
+        writeManifest(new File(directory, MANIFEST_FILE_NAME), collectionName, format, filterDocs, shards);
+        return shards;
+    }
+
+    /**
+     * Split a collection into _id ranges of roughly equal size, based on a random sample of its ids. Ranges are
+     * taken over the most common type of id in the sample; since range queries only match values of the same type,
+     * a final filter covers any documents whose _id is of a different type.
+     * @param collection    collection to split
+     * @param partitions    number of ranges wanted
+     * @return  filters covering every document in the collection exactly once
+     */
+    protected List<Bson> toPartitionFilters(MongoCollection<Document> collection, int partitions) {
+        if (partitions == 1) {
+            return ImmutableList.of(new Document());
+        }
+        List<Object> sample = new ArrayList<>();
+        for (Document doc : collection.aggregate(ImmutableList.of(
+                Aggregates.sample(partitions * SAMPLES_PER_PARTITION),
+                Aggregates.project(Projections.include("_id")),
+                Aggregates.sort(Sorts.ascending("_id"))))) {
+            sample.add(doc.get("_id"));
+        }
+
+        // partition on the most common type of id; ids of any other type go in the final filter
+        Map<List<BsonType>,List<Object>> sampleByType = new HashMap<>();
+        for (Object id : sample) {
+            sampleByType.computeIfAbsent(toIdTypes(id), k -> new ArrayList<>()).add(id);
+        }
+        List<BsonType> idTypes = null;
+        int mostCommon = 0;
+        for (Map.Entry<List<BsonType>,List<Object>> entry : sampleByType.entrySet()) {
+            if (entry.getKey() != null && entry.getValue().size() > mostCommon) {
+                idTypes = entry.getKey();
+                mostCommon = entry.getValue().size();
+            }
+        }
+        if (idTypes == null) {
+            return ImmutableList.of(new Document());
+        }
+        sample = sampleByType.get(idTypes);
+        List<Object> boundaries = new ArrayList<>();
+        for (int i = 1; i < partitions; i++) {
+            Object boundary = sample.get(i * sample.size() / partitions);
+            if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+                boundaries.add(boundary);
+            }
+        }
+
+        List<Bson> typeFilters = new ArrayList<>();
+        for (BsonType type : idTypes) {
+            typeFilters.add(Filters.type("_id", type));
+        }
+        Bson sameType = typeFilters.size() == 1 ? typeFilters.get(0) : Filters.or(typeFilters);
+
+        // the open-ended first and last ranges are also restricted by type, so they can never overlap the final
+        // filter for other types, whatever the server's cross-type comparison rules
+        List<Bson> filters = new ArrayList<>();
+        filters.add(Filters.and(sameType, Filters.lt("_id", boundaries.get(0))));
+        for (int i = 1; i < boundaries.size(); i++) {
+            filters.add(Filters.and(Filters.gte("_id", boundaries.get(i - 1)), Filters.lt("_id", boundaries.get(i))));
+        }
+        filters.add(Filters.and(sameType, Filters.gte("_id", boundaries.get(boundaries.size() - 1))));
+        filters.add(Filters.nor(typeFilters));
+        return filters;
+    }
+
+    /**
+     * Return the BSON types that compare as the same type as an id, or null if the type is not supported for range
+     * partitioning.
+     */
+    private List<BsonType> toIdTypes(Object id) {
+        if (id instanceof ObjectId) {
+            return ImmutableList.of(BsonType.OBJECT_ID);
+        } else if (id instanceof String) {
+            return ImmutableList.of(BsonType.STRING);
+        } else if (id instanceof Number || id instanceof Decimal128) {
+            // all numeric types are compared with each other by value
+            return ImmutableList.of(BsonType.INT32, BsonType.INT64, BsonType.DOUBLE, BsonType.DECIMAL128);
+        } else if (id instanceof Date) {
+            return ImmutableList.of(BsonType.DATE_TIME);
+        } else {
+            return null;
+        }
+    }
+
+    private ExportShard exportShard(MongoCollection<Document> collection, Bson filter, File file, Format format) {
+        long count = 0;
+        HashingOutputStream hasher;
+        CountingOutputStream counter;
+        try (FileOutputStream fileOut = new FileOutputStream(file)) {
+            hasher = new HashingOutputStream(Hashing.sha256(), new BufferedOutputStream(fileOut));
+            counter = new CountingOutputStream(hasher);
+            GZIPOutputStream gzip = new GZIPOutputStream(counter, 65536);
+            OutputStream out = new BufferedOutputStream(gzip, 65536);
+            Writer writer = format == Format.NDJSON ? new OutputStreamWriter(out, StandardCharsets.UTF_8) : null;
+            for (RawBsonDocument doc : collection.withDocumentClass(RawBsonDocument.class).find(filter)) {
+                if (writer != null) {
+                    writer.write(doc.toJson());
+                    writer.write('\n');
+                } else {
+                    ByteBuffer bytes = doc.getByteBuffer().asNIO();
+                    out.write(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+                }
+                count++;
+            }
+            if (writer != null) {
+                writer.close();
+            } else {
+                out.close();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Problem writing " + file + ": " + e.getMessage(), e);
+        }
+        return ExportShard.of(file.getName(), count, counter.getCount(), hasher.hash().toString());
+    }
+
+    private void writeManifest(File file, String collectionName, Format format, List<BsonDocument> filters,
+                               List<ExportShard> shards) throws IOException {
+        List<Document> shardDocs = new ArrayList<>();
+        long totalCount = 0;
+        for (int i = 0; i < shards.size(); i++) {
+            ExportShard shard = shards.get(i);
+            shardDocs.add(new Document("file", shard.getFileName())
+                    .append("count", shard.getCount())
+                    .append("bytes", shard.getBytes())
+                    .append("sha256", shard.getSha256())
+                    .append("filter", filters.get(i)));
+            totalCount += shard.getCount();
+        }
+        Document manifest = new Document("collection", collectionName)
+                .append("format", format.name())
+                .append("compression", "gzip")
+                .append("count", totalCount)
+                .append("shards", shardDocs);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(manifest.toJson(JsonWriterSettings.builder().outputMode(JsonMode.RELAXED).indent(true).build()));
+            writer.write('\n');
+        }
+    }
+}
@@ -1,22 +1,392 @@
 package io.stardog.stardao.mongodb.export;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.InsertOneModel;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.UpdateOneModel;
 import com.mongodb.client.model.UpdateOptions;
+import com.mongodb.client.model.WriteModel;
 import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
 
-import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.File;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.zip.GZIPInputStream;
 
+/**
+ * Imports documents into a collection from a file of extended JSON lines (as written by MongoExporter.export()) or
+ * from raw BSON, either of which may be gzip-compressed (as written by MongoExporter.exportParallel()).
+ *
+ * The import is pipelined: the calling thread reads the file in batches, and a worker parses each batch and writes it
+ * with a bulk write of upserts. By default one batch is in flight at a time and its writes are ordered, so when an _id
+ * appears more than once in the file, the last occurrence wins. If more batches are allowed in flight, they are
+ * written concurrently with unordered bulk writes, so which occurrence of a repeated _id wins is not deterministic,
+ * and concurrent upserts of the same new _id may fail with a duplicate key error. Progress can be recorded to a
+ * checkpoint file, in which case an interrupted import resumes where it left off.
+ */
 public class MongoImporter {
+    public static final int DEFAULT_BATCH_SIZE = 1000;
+    public static final int DEFAULT_MAX_IN_FLIGHT_BATCHES = 1;
+
+    /**
+     * How imported documents are written.
+     */
+    public enum Mode {
+        /** $set the imported fields on the existing document, creating it if needed */
+        UPDATE,
+        /** replace the existing document with the imported one, creating it if needed */
+        REPLACE
+    }
+
+    /**
+     * Receives progress updates as batches are written.
+     */
+    public interface ProgressListener {
+        /**
+         * @param documents number of documents written so far
+         * @param offset    offset (in the uncompressed input) up to which all documents have been written
+         */
+        void onProgress(long documents, long offset);
+    }
+
+    private int batchSize = DEFAULT_BATCH_SIZE;
+    private int maxInFlightBatches = DEFAULT_MAX_IN_FLIGHT_BATCHES;
+    private Mode mode = Mode.UPDATE;
+    private ProgressListener progressListener;
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Set the number of batches that may be parsed and written concurrently. Only raise it above the default of 1 if
+     * each _id appears at most once in the imported files, since concurrent batches don't preserve the file's order.
+     * @param maxInFlightBatches    maximum number of batches in flight
+     */
+    public void setMaxInFlightBatches(int maxInFlightBatches) {
+        this.maxInFlightBatches = maxInFlightBatches;
+    }
+
+    public void setMode(Mode mode) {
+        this.mode = mode;
+    }
+
+    public void setProgressListener(ProgressListener progressListener) {
+        this.progressListener = progressListener;
+    }
+
+    /**
+     * Import a file into a collection, without a checkpoint. See importFromFile(MongoCollection, File, File).
+     * @param collection    collection to import into
+     * @param file  file to import
+     * @throws IOException  if the file cannot be read
+     */
     public void importFromFile(MongoCollection<Document> collection, File file) throws IOException {
-        BufferedReader reader = new BufferedReader(new FileReader(file));
-        for (String line; (line = reader.readLine()) != null; ) {
-            Document doc = Document.parse(line);
+        importFromFile(collection, file, null);
+    }
+
+    /**
+     * Import a file into a collection. The file is read as raw BSON if its name contains ".bson", and as extended
+     * JSON lines otherwise; it is decompressed if its name ends with ".gz". Documents are written in file order unless
+     * more than one batch is allowed in flight; see setMaxInFlightBatches().
+     * @param collection    collection to import into
+     * @param file  file to import
+     * @param checkpointFile    file recording the offset up to which the import has completed; if it exists when the
+     *                          import starts, the import resumes from that offset. It is deleted once the import
+     *                          completes. May be null.
+     * @return  number of documents imported
+     * @throws IOException  if the file cannot be read or the checkpoint cannot be written
+     */
+    public long importFromFile(MongoCollection<Document> collection, File file, File checkpointFile) throws IOException {
+        boolean bson = file.getName().contains(".bson");
+        long startOffset = checkpointFile != null && checkpointFile.exists() ? readCheckpoint(checkpointFile) : 0;
+        Codec<Document> codec = collection.getCodecRegistry().get(Document.class);
+        Progress progress = new Progress(startOffset, checkpointFile);
+
+        ExecutorService executor = Executors.newFixedThreadPool(maxInFlightBatches, new ThreadFactoryBuilder()
+                .setNameFormat(collection.getNamespace().getCollectionName() + "-import-%d")
+                .setDaemon(true)
+                .build());
+        Semaphore inFlight = new Semaphore(maxInFlightBatches);
+        try (InputStream in = openInput(file)) {
+            RecordReader reader = new RecordReader(in);
+            reader.skip(startOffset);
+            for (long batchNumber = 0; progress.getFailure() == null; batchNumber++) {
+                List<byte[]> records = new ArrayList<>(batchSize);
+                byte[] record;
+                while (records.size() < batchSize && (record = bson ? reader.readBson() : reader.readLine()) != null) {
+                    records.add(record);
+                }
+                if (records.isEmpty()) {
+                    break;
+                }
+                long batch = batchNumber;
+                long endOffset = reader.getOffset();
+                inFlight.acquire();
+                executor.execute(() -> {
+                    try {
+                        int count = writeBatch(collection, toDocuments(records, bson, codec));
+                        progress.complete(batch, count, endOffset);
+                    } catch (Throwable e) {
+                        progress.fail(e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            inFlight.acquire(maxInFlightBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while importing " + file, e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Throwable failure = progress.getFailure();
+        if (failure instanceof UncheckedIOException) {
+            throw ((UncheckedIOException)failure).getCause();
+        } else if (failure instanceof RuntimeException) {
+            throw (RuntimeException)failure;
+        } else if (failure instanceof Error) {
+            throw (Error)failure;
+        }
+        if (checkpointFile != null) {
+            Files.deleteIfExists(checkpointFile.toPath());
+        }
+        return progress.getDocuments();
+    }
+
+    protected List<Document> toDocuments(List<byte[]> records, boolean bson, Codec<Document> codec) {
+        List<Document> docs = new ArrayList<>(records.size());
+        for (byte[] record : records) {
+            docs.add(bson ? new RawBsonDocument(record).decode(codec) : Document.parse(new String(record, StandardCharsets.UTF_8)));
+        }
+        return docs;
+    }
+
+    protected int writeBatch(MongoCollection<Document> collection, List<Document> docs) {
+        List<WriteModel<Document>> writes = new ArrayList<>(docs.size());
+        for (Document doc : docs) {
             Object id = doc.get("_id");
-            doc.remove("_id");
-            collection.updateOne(new Document("_id", id), new Document("$set", doc), new UpdateOptions().upsert(true));
+            if (id == null) {
+                writes.add(new InsertOneModel<>(doc));
+            } else if (mode == Mode.REPLACE) {
+                writes.add(new ReplaceOneModel<>(Filters.eq("_id", id), doc, new UpdateOptions().upsert(true)));
+            } else {
+                doc.remove("_id");
+                writes.add(new UpdateOneModel<>(Filters.eq("_id", id), new Document("$set", doc), new UpdateOptions().upsert(true)));
+            }
+        }
+        // a single batch in flight keeps the file's order, so that the last occurrence of a repeated _id wins
+        collection.bulkWrite(writes, new BulkWriteOptions().ordered(maxInFlightBatches == 1));
+        return docs.size();
+    }
+
+    private InputStream openInput(File file) throws IOException {
+        InputStream in = new FileInputStream(file);
+        return file.getName().endsWith(".gz") ? new GZIPInputStream(in, 65536) : in;
+    }
+
+    private long readCheckpoint(File checkpointFile) throws IOException {
+        String text = new String(Files.readAllBytes(checkpointFile.toPath()), StandardCharsets.UTF_8).trim();
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid checkpoint file " + checkpointFile + ": " + text, e);
+        }
+    }
+
+    /**
+     * Tracks completed batches. Batches may complete out of order, so the checkpoint only advances past a batch once
+     * it and every batch before it have been written.
+     */
+    private class Progress {
+        private final File checkpointFile;
+        private final TreeMap<Long,Long> completedOffsets = new TreeMap<>();
+        private long nextBatch = 0;
+        private long offset;
+        private long documents = 0;
+        private volatile Throwable failure;
+
+        private Progress(long offset, File checkpointFile) {
+            this.offset = offset;
+            this.checkpointFile = checkpointFile;
+        }
+
+        private synchronized void complete(long batch, int count, long endOffset) {
+            documents += count;
+            completedOffsets.put(batch, endOffset);
+            boolean advanced = false;
+            while (completedOffsets.containsKey(nextBatch)) {
+                offset = completedOffsets.remove(nextBatch++);
+                advanced = true;
+            }
+            if (advanced && checkpointFile != null) {
+                writeCheckpoint(offset);
+            }
+            if (progressListener != null) {
+                progressListener.onProgress(documents, offset);
+            }
+        }
+
+        private void writeCheckpoint(long offset) {
+            try {
+                File temp = new File(checkpointFile.getPath() + ".tmp");
+                Files.write(temp.toPath(), Long.toString(offset).getBytes(StandardCharsets.UTF_8));
+                Files.move(temp.toPath(), checkpointFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to write checkpoint " + checkpointFile, e);
+            }
+        }
+
+        private void fail(Throwable e) {
+            if (failure == null) {
+                failure = e;
+            }
+        }
+
+        private Throwable getFailure() {
+            return failure;
+        }
+
+        private synchronized long getDocuments() {
+            return documents;
+        }
+    }
+
+    /**
+     * Reads newline-delimited or length-prefixed BSON records from a stream, keeping track of the byte offset.
+     */
+    private static class RecordReader {
+        private final InputStream in;
+        private final byte[] buffer = new byte[65536];
+        private int position = 0;
+        private int limit = 0;
+        private long offset = 0;
+
+        private RecordReader(InputStream in) {
+            this.in = in;
+        }
+
+        private long getOffset() {
+            return offset;
+        }
+
+        private boolean fill() throws IOException {
+            if (position < limit) {
+                return true;
+            }
+            limit = in.read(buffer);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return false;
+            }
+            return true;
+        }
+
+        private void skip(long bytes) throws IOException {
+            while (offset < bytes) {
+                if (!fill()) {
+                    throw new EOFException("Checkpoint offset " + bytes + " is past the end of the input");
+                }
+                int n = (int)Math.min(limit - position, bytes - offset);
+                position += n;
+                offset += n;
+            }
+        }
+
+        /**
+         * Read the next non-blank line, without its line terminator.
+         * @return  line bytes, or null at the end of the input
+         */
+        private byte[] readLine() throws IOException {
+            while (true) {
+                ByteArrayOutputStream line = null;
+                boolean ended = false;
+                while (!ended) {
+                    if (!fill()) {
+                        if (line == null) {
+                            return null;
+                        }
+                        break;
+                    }
+                    int start = position;
+                    while (position < limit && buffer[position] != '\n') {
+                        position++;
+                    }
+                    if (line == null) {
+                        line = new ByteArrayOutputStream(position - start + 1);
+                    }
+                    line.write(buffer, start, position - start);
+                    if (position < limit) {
+                        ended = true;
+                        position++;
+                    }
+                    offset += position - start;
+                }
+                byte[] bytes = line.toByteArray();
+                int length = bytes.length;
+                while (length > 0 && (bytes[length - 1] == '\r' || bytes[length - 1] == ' ' || bytes[length - 1] == '\t')) {
+                    length--;
+                }
+                if (length > 0) {
+                    return length == bytes.length ? bytes : Arrays.copyOf(bytes, length);
+                }
+            }
+        }
+
+        /**
+         * Read the next length-prefixed BSON document.
+         * @return  document bytes, or null at the end of the input
+         */
+        private byte[] readBson() throws IOException {
+            if (!fill()) {
+                return null;
+            }
+            byte[] header = new byte[4];
+            readFully(header, 0, 4);
+            int length = (header[0] & 0xff) | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16 | (header[3] & 0xff) << 24;
+            if (length < 5) {
+                throw new IOException("Invalid BSON document length " + length + " at offset " + (offset - 4));
+            }
+            byte[] bytes = new byte[length];
+            System.arraycopy(header, 0, bytes, 0, 4);
+            readFully(bytes, 4, length - 4);
+            return bytes;
+        }
+
+        private void readFully(byte[] bytes, int start, int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                if (!fill()) {
+                    throw new EOFException("Truncated BSON document at offset " + offset);
+                }
+                int n = Math.min(limit - position, length - read);
+                System.arraycopy(buffer, position, bytes, start + read, n);
+                position += n;
+                read += n;
+                offset += n;
+            }
         }
     }
 }
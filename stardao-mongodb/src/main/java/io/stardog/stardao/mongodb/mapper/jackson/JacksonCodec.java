@@ -0,0 +1,431 @@
+package io.stardog.stardao.mongodb.mapper.jackson;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import com.google.common.collect.ImmutableMap;
+import com.mongodb.MongoException;
+import org.bson.BsonBinarySubType;
+import org.bson.BsonReader;
+import org.bson.BsonType;
+import org.bson.BsonWriter;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonTypeClassMap;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.Binary;
+import org.bson.types.Decimal128;
+import org.bson.types.ObjectId;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A MongoDB Codec that maps POJOs directly to and from BSON using Jackson, without going through extended JSON text
+ * or intermediate Documents. Objects are serialized into a Jackson token stream, which is written straight to the
+ * BsonWriter; reads go the other way. Top-level field renames are applied as the tokens are copied.
+ *
+ * The resulting BSON is the same as that produced by JacksonDocumentMapper, so the two can be used interchangeably
+ * against the same collection.
+ */
+public class JacksonCodec<M> implements Codec<M> {
+    private final Class<M> modelClass;
+    private final CodecRegistry registry;
+    private final ObjectMapper objectMapper;
+    private final ObjectMapper extendedJsonMapper;
+    private final Map<String,String> objectToDocumentFieldRenames;
+    private final Map<String,String> documentToObjectFieldRenames;
+    private final Map<Class<?>,Map<String,PropertyWriter>> propertyWriters = new ConcurrentHashMap<>();
+    private static final BsonTypeClassMap BSON_TYPE_CLASS_MAP = new BsonTypeClassMap();
+
+    public JacksonCodec(Class<M> modelClass, CodecRegistry registry, ObjectMapper objectMapper, ObjectMapper extendedJsonMapper,
+                        Map<String,String> objectToDocumentFieldRenames, Map<String,String> documentToObjectFieldRenames) {
+        this.modelClass = modelClass;
+        this.registry = registry;
+        this.objectMapper = objectMapper;
+        this.extendedJsonMapper = extendedJsonMapper;
+        this.objectToDocumentFieldRenames = objectToDocumentFieldRenames;
+        this.documentToObjectFieldRenames = documentToObjectFieldRenames;
+    }
+
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    @Override
+    public Class<M> getEncoderClass() {
+        return modelClass;
+    }
+
+    /**
+     * Serialize a POJO with the extended JSON mapper and copy the resulting tokens into the BSON writer.
+     * @param writer    BSON writer
+     * @param value POJO to write
+     * @param encoderContext    encoder context
+     */
+    @Override
+    public void encode(BsonWriter writer, M value, EncoderContext encoderContext) {
+        try {
+            TokenBuffer buffer = new TokenBuffer(extendedJsonMapper, false);
+            extendedJsonMapper.writeValue(buffer, value);
+            JsonParser parser = buffer.asParser();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MongoException("Problem encoding " + modelClass.getSimpleName() + ": not a JSON object");
+            }
+            writeObject(parser, writer, encoderContext, objectToDocumentFieldRenames);
+        } catch (IOException e) {
+            throw new MongoException("Problem encoding " + modelClass.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Serialize some of the properties of a POJO and write them to the BSON writer as a document. Only the named
+     * properties are serialized, using the extended JSON mapper's property writers, and each is written under its
+     * storage name. Properties that the mapper leaves out (such as nulls) are not written. If any of the names is not
+     * a property of the POJO, such as a storage name, the whole POJO is written instead, so that the caller can still
+     * find the value under its storage name.
+     * @param writer    BSON writer
+     * @param value POJO to write
+     * @param fields    names of the properties to write
+     * @param storageNames  map of property names to storage names, for properties whose names differ
+     * @param encoderContext    encoder context
+     */
+    public void encodeFields(BsonWriter writer, M value, Iterable<String> fields, Map<String,String> storageNames,
+                             EncoderContext encoderContext) {
+        try {
+            TokenBuffer buffer = new TokenBuffer(extendedJsonMapper, false);
+            Map<String,PropertyWriter> writers = getPropertyWriters(value.getClass());
+            if (!containsAll(writers, fields)) {
+                extendedJsonMapper.writeValue(buffer, value);
+            } else {
+                SerializerProvider provider = extendedJsonMapper.getSerializerProviderInstance();
+                buffer.writeStartObject();
+                for (String field : fields) {
+                    PropertyWriter propertyWriter = writers.get(field);
+                    if (propertyWriter != null) {
+                        propertyWriter.serializeAsField(value, buffer, provider);
+                    }
+                }
+                buffer.writeEndObject();
+            }
+            JsonParser parser = buffer.asParser();
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new MongoException("Problem encoding " + modelClass.getSimpleName() + ": not a JSON object");
+            }
+            writeObject(parser, writer, encoderContext, storageNames);
+        } catch (MongoException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new MongoException("Problem encoding " + modelClass.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private static boolean containsAll(Map<String,PropertyWriter> writers, Iterable<String> fields) {
+        for (String field : fields) {
+            if (!writers.containsKey(field)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<String,PropertyWriter> getPropertyWriters(Class<?> type) {
+        return propertyWriters.computeIfAbsent(type, t -> {
+            Map<String,PropertyWriter> writers = new HashMap<>();
+            try {
+                JsonSerializer<Object> serializer = extendedJsonMapper.getSerializerProviderInstance().findValueSerializer(t);
+                Iterator<PropertyWriter> properties = serializer.properties();
+                while (properties.hasNext()) {
+                    PropertyWriter writer = properties.next();
+                    writers.put(writer.getName(), writer);
+                }
+            } catch (JsonProcessingException e) {
+                throw new MongoException("Problem finding serializer for " + t.getSimpleName() + ": " + e.getMessage(), e);
+            }
+            return writers;
+        });
+    }
+
+    /**
+     * Copy a BSON document into a Jackson token stream and deserialize it to a POJO with the object mapper.
+     * @param reader    BSON reader
+     * @param decoderContext    decoder context
+     * @return  POJO
+     */
+    @Override
+    public M decode(BsonReader reader, DecoderContext decoderContext) {
+        try {
+            TokenBuffer buffer = new TokenBuffer(objectMapper, false);
+            readDocument(reader, buffer, decoderContext, documentToObjectFieldRenames);
+            return objectMapper.readValue(buffer.asParser(), modelClass);
+        } catch (IOException e) {
+            throw new MongoException("Problem decoding " + modelClass.getSimpleName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Decode a single top-level field of a raw document. The other fields are skipped over without being decoded.
+     * @param document  raw BSON document
+     * @param storageName   name of the field in the document
+     * @param type  type to decode the field to
+     * @param <T>   field type
+     * @return  field value, or the type's null value if the field is missing or null
+     */
+    public <T> T decodeField(RawBsonDocument document, String storageName, JavaType type) {
+        try {
+            TokenBuffer buffer = document.decode((reader, decoderContext) -> {
+                try {
+                    TokenBuffer fieldBuffer = new TokenBuffer(objectMapper, false);
+                    reader.readStartDocument();
+                    while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                        if (reader.readName().equals(storageName)) {
+                            readValue(reader, fieldBuffer, decoderContext);
+                            return fieldBuffer;
+                        }
+                        reader.skipValue();
+                    }
+                    fieldBuffer.writeNull();
+                    return fieldBuffer;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            return objectMapper.readValue(buffer.asParser(), type);
+        } catch (IOException | UncheckedIOException e) {
+            throw new MongoException("Problem decoding " + modelClass.getSimpleName() + "." + storageName + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void writeValue(JsonParser parser, BsonWriter writer, EncoderContext encoderContext) throws IOException {
+        switch (parser.currentToken()) {
+            case START_OBJECT:
+                writeObject(parser, writer, encoderContext, ImmutableMap.of());
+                break;
+            case START_ARRAY:
+                writer.writeStartArray();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    writeValue(parser, writer, encoderContext);
+                }
+                writer.writeEndArray();
+                break;
+            case VALUE_STRING:
+                writer.writeString(parser.getText());
+                break;
+            case VALUE_NUMBER_INT:
+                writeInteger(parser, writer);
+                break;
+            case VALUE_NUMBER_FLOAT:
+                writer.writeDouble(parser.getDoubleValue());
+                break;
+            case VALUE_TRUE:
+                writer.writeBoolean(true);
+                break;
+            case VALUE_FALSE:
+                writer.writeBoolean(false);
+                break;
+            case VALUE_NULL:
+                writer.writeNull();
+                break;
+            case VALUE_EMBEDDED_OBJECT:
+                Object embedded = parser.getEmbeddedObject();
+                encodeValue(writer, embedded instanceof byte[] ? new Binary((byte[])embedded) : embedded, encoderContext);
+                break;
+            default:
+                throw new MongoException("Unexpected JSON token: " + parser.currentToken());
+        }
+    }
+
+    /**
+     * Write an object, with the parser positioned on its START_OBJECT. Objects whose first key is a MongoDB extended
+     * JSON type marker ($oid, $date, etc) are written as the corresponding BSON value rather than as a document.
+     */
+    private void writeObject(JsonParser parser, BsonWriter writer, EncoderContext encoderContext, Map<String,String> renames) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (token == JsonToken.FIELD_NAME && isExtendedJsonType(parser.getCurrentName())) {
+            writeExtendedJsonValue(parser, writer, encoderContext);
+            return;
+        }
+
+        writer.writeStartDocument();
+        while (token == JsonToken.FIELD_NAME) {
+            String name = parser.getCurrentName();
+            String renamed = renames.getOrDefault(name, name);
+            parser.nextToken();
+            if (renamed == null || "".equals(renamed)) {
+                parser.skipChildren();
+            } else {
+                writer.writeName(renamed);
+                writeValue(parser, writer, encoderContext);
+            }
+            token = parser.nextToken();
+        }
+        writer.writeEndDocument();
+    }
+
+    private static boolean isExtendedJsonType(String name) {
+        switch (name) {
+            case "$oid":
+            case "$date":
+            case "$numberDecimal":
+            case "$numberLong":
+            case "$binary":
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private void writeExtendedJsonValue(JsonParser parser, BsonWriter writer, EncoderContext encoderContext) throws IOException {
+        String type = parser.getCurrentName();
+        parser.nextToken();
+        switch (type) {
+            case "$oid":
+                encodeValue(writer, new ObjectId(parser.getText()), encoderContext);
+                break;
+            case "$date":
+                Instant instant = parser.currentToken() == JsonToken.VALUE_STRING
+                        ? Instant.parse(parser.getText())
+                        : Instant.ofEpochMilli(parser.getLongValue());
+                encodeValue(writer, Date.from(instant), encoderContext);
+                break;
+            case "$numberDecimal":
+                encodeValue(writer, Decimal128.parse(parser.getText()), encoderContext);
+                break;
+            case "$numberLong":
+                writer.writeInt64(Long.parseLong(parser.getText()));
+                break;
+            case "$binary":
+                byte[] data = Base64.getDecoder().decode(parser.getText());
+                byte subType = BsonBinarySubType.BINARY.getValue();
+                if (parser.nextToken() == JsonToken.FIELD_NAME && "$type".equals(parser.getCurrentName())) {
+                    parser.nextToken();
+                    subType = (byte)Integer.parseInt(parser.getText(), 16);
+                }
+                if (subType == BsonBinarySubType.UUID_STANDARD.getValue() && data.length == 16) {
+                    ByteBuffer bytes = ByteBuffer.wrap(data);
+                    encodeValue(writer, new UUID(bytes.getLong(), bytes.getLong()), encoderContext);
+                } else {
+                    encodeValue(writer, new Binary(subType, data), encoderContext);
+                }
+                break;
+        }
+        while (parser.currentToken() != JsonToken.END_OBJECT) {
+            parser.nextToken();
+        }
+    }
+
+    /**
+     * Write an integer the way MongoDB's JSON reader would: as an int32 if it fits, otherwise as an int64.
+     */
+    private static void writeInteger(JsonParser parser, BsonWriter writer) throws IOException {
+        switch (parser.getNumberType()) {
+            case INT:
+                writer.writeInt32(parser.getIntValue());
+                break;
+            case LONG:
+                long value = parser.getLongValue();
+                if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                    writer.writeInt32((int)value);
+                } else {
+                    writer.writeInt64(value);
+                }
+                break;
+            default:
+                BigInteger bigValue = parser.getBigIntegerValue();
+                if (bigValue.bitLength() < 64) {
+                    writer.writeInt64(bigValue.longValue());
+                } else {
+                    writer.writeDouble(bigValue.doubleValue());
+                }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void encodeValue(BsonWriter writer, Object value, EncoderContext encoderContext) {
+        Codec codec = registry.get(value.getClass());
+        encoderContext.encodeWithChildContext(codec, writer, value);
+    }
+
+    private void readDocument(BsonReader reader, TokenBuffer buffer, DecoderContext decoderContext, Map<String,String> renames) throws IOException {
+        reader.readStartDocument();
+        buffer.writeStartObject();
+        while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+            String name = reader.readName();
+            String renamed = renames.getOrDefault(name, name);
+            if (renamed == null || "".equals(renamed)) {
+                reader.skipValue();
+            } else {
+                buffer.writeFieldName(renamed);
+                readValue(reader, buffer, decoderContext);
+            }
+        }
+        reader.readEndDocument();
+        buffer.writeEndObject();
+    }
+
+    private void readValue(BsonReader reader, TokenBuffer buffer, DecoderContext decoderContext) throws IOException {
+        switch (reader.getCurrentBsonType()) {
+            case DOCUMENT:
+                readDocument(reader, buffer, decoderContext, ImmutableMap.of());
+                break;
+            case ARRAY:
+                reader.readStartArray();
+                buffer.writeStartArray();
+                while (reader.readBsonType() != BsonType.END_OF_DOCUMENT) {
+                    readValue(reader, buffer, decoderContext);
+                }
+                reader.readEndArray();
+                buffer.writeEndArray();
+                break;
+            case STRING:
+                buffer.writeString(reader.readString());
+                break;
+            case INT32:
+                buffer.writeNumber(reader.readInt32());
+                break;
+            case INT64:
+                buffer.writeNumber(reader.readInt64());
+                break;
+            case DOUBLE:
+                buffer.writeNumber(reader.readDouble());
+                break;
+            case BOOLEAN:
+                buffer.writeBoolean(reader.readBoolean());
+                break;
+            case NULL:
+                reader.readNull();
+                buffer.writeNull();
+                break;
+            default:
+                // other BSON types (ObjectId, dates, decimals, UUIDs...) are decoded to their Java types and then
+                // serialized with the object mapper, exactly as JacksonDocumentMapper.toObject() would see them
+                buffer.writeObject(decodeValue(reader, decoderContext));
+        }
+    }
+
+    private Object decodeValue(BsonReader reader, DecoderContext decoderContext) {
+        BsonType type = reader.getCurrentBsonType();
+        if (type == BsonType.BINARY && BsonBinarySubType.isUuid(reader.peekBinarySubType()) && reader.peekBinarySize() == 16) {
+            return registry.get(UUID.class).decode(reader, decoderContext);
+        }
+        return registry.get(BSON_TYPE_CLASS_MAP.get(type)).decode(reader, decoderContext);
+    }
+}
@@ -1,22 +1,37 @@
 package io.stardog.stardao.mongodb.mapper.jackson;
 
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.mongodb.MongoClient;
 import com.mongodb.MongoException;
 import io.stardog.stardao.core.field.Field;
 import io.stardog.stardao.core.field.FieldData;
 import io.stardog.stardao.mongodb.mapper.DocumentMapper;
 import io.stardog.stardao.mongodb.mapper.jackson.modules.ExtendedJsonModule;
 import io.stardog.stardao.mongodb.mapper.jackson.modules.MongoModule;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
 import org.bson.Document;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 public class JacksonDocumentMapper<M> implements DocumentMapper<M> {
     private final Class<M> modelClass;
@@ -24,6 +39,8 @@ public class JacksonDocumentMapper<M> implements DocumentMapper<M> {
     private final ObjectMapper extendedJsonMapper;
     private final Map<String,String> objectToDocumentFieldRenames;
     private final Map<String,String> documentToObjectFieldRenames;
+    // registries are compared by identity, and dropped along with their collections
+    private final Cache<CodecRegistry,JacksonCodec<M>> fieldCodecs = CacheBuilder.newBuilder().weakKeys().build();
 
     public final static ObjectMapper DEFAULT_EXTENDED_JSON_MAPPER = new ObjectMapper()
             .registerModule(new JavaTimeModule())
@@ -99,6 +116,78 @@ public class JacksonDocumentMapper<M> implements DocumentMapper<M> {
         }
     }
 
+    /**
+     * Given a POJO, convert some of its fields to a MongoDB Document. Only the named properties are serialized, and
+     * they are written straight to BSON under their storage names, without the extended JSON text of toDocument(), so
+     * this is much cheaper when only a few fields of an object are needed, such as the set fields of an update.
+     * @param object    POJO to convert
+     * @param fields    names of the fields to convert
+     * @return  document of those fields that the object mapper writes for the object
+     */
+    public Document toDocument(M object, Iterable<String> fields) {
+        return toDocument(object, fields, MongoClient.getDefaultCodecRegistry());
+    }
+
+    /**
+     * Given a POJO, convert some of its fields to a MongoDB Document, encoding BSON-specific values with the codecs
+     * of the given registry. Pass the collection's registry so that the fields are encoded as they would be by the
+     * collection's typed codec.
+     * @param object    POJO to convert
+     * @param fields    names of the fields to convert
+     * @param registry  codec registry used for ObjectIds, dates and other BSON-specific values
+     * @return  document of those fields that the object mapper writes for the object
+     */
+    public Document toDocument(M object, Iterable<String> fields, CodecRegistry registry) {
+        if (object == null) {
+            return null;
+        }
+        JacksonCodec<M> fieldCodec = fieldCodecs.asMap().computeIfAbsent(registry, this::toCodec);
+        BsonDocument bson = new BsonDocument();
+        fieldCodec.encodeFields(new BsonDocumentWriter(bson), object, fields, objectToDocumentFieldRenames,
+                EncoderContext.builder().build());
+        return registry.get(Document.class).decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    /**
+     * Return the names of the fields that toDocument() would write for a POJO, before renaming, i.e. the fields that
+     * the object mapper does not leave out. The object is serialized to Jackson tokens only, without the extended
+     * JSON and Document copies.
+     * @param object    POJO
+     * @return  field names
+     */
+    public Set<String> toFieldNames(M object) {
+        if (object == null) {
+            return ImmutableSet.of();
+        }
+        try {
+            TokenBuffer buffer = new TokenBuffer(extendedJsonMapper, false);
+            extendedJsonMapper.writeValue(buffer, object);
+            JsonParser parser = buffer.asParser();
+            ImmutableSet.Builder<String> fields = ImmutableSet.builder();
+            if (parser.nextToken() == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    fields.add(parser.getCurrentName());
+                    parser.nextToken();
+                    parser.skipChildren();
+                }
+            }
+            return fields.build();
+        } catch (IOException e) {
+            throw new MongoException("Problem converting object to extended JSON: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Return a Codec that maps the same way as this mapper, but reads and writes BSON directly, without the extended
+     * JSON and Document copies. Use it to work with a typed MongoCollection.
+     * @param registry  codec registry used for ObjectIds, dates and other BSON-specific values
+     * @return  codec for the model class
+     */
+    public JacksonCodec<M> toCodec(CodecRegistry registry) {
+        return new JacksonCodec<>(modelClass, registry, objectMapper, extendedJsonMapper,
+                objectToDocumentFieldRenames, documentToObjectFieldRenames);
+    }
+
     /**
      * Given a document and a set of fields to rename, rename all of the fields.
      * @param doc   document
@@ -1,10 +1,12 @@
 package io.stardog.stardao.mongodb;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.github.fakemongo.Fongo;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.core.Results;
 import io.stardog.stardao.core.Update;
+import io.stardog.stardao.core.WriteResult;
 import io.stardog.stardao.exceptions.DataNotFoundException;
 import org.bson.Document;
 import org.bson.types.ObjectId;
@@ -15,8 +17,16 @@ import org.junit.Test;
 import java.sql.Date;
 import java.time.Instant;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.Assert.*;
 
@@ -73,6 +83,67 @@ public class AbstractMongoDaoTest {
         assertTrue(load.getActive());
     }
 
+    @Test
+    public void testLoadOptCoalesced() throws Exception {
+        assertFalse(dao.getLoadCoalescer().isPresent());
+        dao.setCoalesceLoads(true);
+        TestUser created = dao.create(TestUser.builder().name("Ian").email("ian@example.com").build());
+
+        assertEquals(created, dao.loadOpt(created.getId()).get());
+        TestUser partial = dao.loadOpt(created.getId(), ImmutableSet.of("name")).get();
+        assertEquals("Ian", partial.getName());
+        assertNull(partial.getEmail());
+        assertFalse(dao.loadOpt(new ObjectId()).isPresent());
+        assertEquals(3, dao.getLoadCoalescer().get().getLoadCount());
+        assertEquals(0, dao.getLoadCoalescer().get().getInFlightCount());
+    }
+
+    @Test
+    public void testLoadWithCodecs() throws Exception {
+        TestUser created = dao.create(TestUser.builder()
+                .name("Ian")
+                .email("ian@example.com")
+                .loginAt(Instant.ofEpochMilli(1485116825000L))
+                .build());
+        dao.setUseCodecs(true);
+
+        assertEquals(created, dao.loadOpt(created.getId()).get());
+        TestUser partial = dao.loadOpt(created.getId(), ImmutableSet.of("name")).get();
+        assertEquals("Ian", partial.getName());
+        assertNull(partial.getEmail());
+        assertEquals(ImmutableList.of(created), ImmutableList.copyOf(dao.iterateAll()));
+
+        TestUser inserted = TestUser.builder().id(new ObjectId()).name("Bob").build();
+        dao.getModelCollection().insertOne(inserted);
+        assertEquals(inserted, dao.load(inserted.getId()));
+    }
+
+    @Test
+    public void testLoadMany() throws Exception {
+        TestUser ian = dao.create(TestUser.builder().name("Ian").build());
+        TestUser bob = dao.create(TestUser.builder().name("Bob").build());
+        ObjectId missing = new ObjectId();
+
+        Map<ObjectId,TestUser> loaded = dao.loadMany(ImmutableList.of(bob.getId(), missing, ian.getId()));
+        assertEquals(ImmutableList.of(bob.getId(), ian.getId()), ImmutableList.copyOf(loaded.keySet()));
+        assertEquals(bob, loaded.get(bob.getId()));
+        assertEquals(ian, loaded.get(ian.getId()));
+
+        assertTrue(dao.loadMany(ImmutableList.of()).isEmpty());
+    }
+
+    @Test
+    public void testLoadManyPartial() throws Exception {
+        TestUser ian = dao.create(TestUser.builder().name("Ian").email("ian@example.com").build());
+        TestUser bob = dao.create(TestUser.builder().name("Bob").email("bob@example.com").build());
+
+        Map<ObjectId,TestUser> loaded = dao.loadMany(ImmutableList.of(ian.getId(), bob.getId()), ImmutableSet.of("name"));
+        assertEquals(2, loaded.size());
+        assertEquals("Ian", loaded.get(ian.getId()).getName());
+        assertNull(loaded.get(ian.getId()).getEmail());
+        assertEquals("Bob", loaded.get(bob.getId()).getName());
+    }
+
     @Test
     public void testLoadByQuery() throws Exception {
         TestUser created = dao.create(TestUser.builder().name("Ian").email("ian@example.com").build());
@@ -162,6 +233,51 @@ public class AbstractMongoDaoTest {
         assertFalse(nomatch.getNext().isPresent());
     }
 
+    @Test
+    public void testFindWithKeysetPagination() throws Exception {
+        // only three distinct create times, so most pages break in the middle of a tie
+        Instant now = Instant.now();
+        List<ObjectId> expected = new ArrayList<>();
+        for (int i=0; i < 30; i++) {
+            TestUser user = dao.create(TestUser.builder().name("Bob " + i).active(true).build(), now.minusSeconds(i % 3));
+            expected.add(user.getId());
+        }
+        // newest first, then by descending id
+        expected.sort(Comparator.comparing((ObjectId id) -> dao.load(id).getCreateAt()).thenComparing(id -> id).reversed());
+
+        Document query = new Document("active", true);
+        Document sort = new Document("createAt", -1);
+        List<ObjectId> found = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            Results<TestUser,String> page = dao.findWithKeysetPagination(query, sort, cursor, 7);
+            page.getData().forEach(u -> found.add(u.getId()));
+            cursor = page.getNext().orElse(null);
+            pages++;
+        } while (cursor != null);
+        assertEquals(expected, found);
+        assertEquals(5, pages);
+
+        Results<TestUser,String> exact = dao.findWithKeysetPagination(query, sort, null, 30);
+        assertEquals(30, exact.getData().size());
+        assertFalse(exact.getNext().isPresent());
+
+        String next = dao.findWithKeysetPagination(query, sort, null, 7).getNext().get();
+        try {
+            dao.findWithKeysetPagination(query, new Document("name", 1), next, 7);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Cursor does not match sort"));
+        }
+        try {
+            dao.findWithKeysetPagination(query, sort, "garbage", 7);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage().startsWith("Invalid cursor"));
+        }
+    }
+
     @Test
     public void testFindWithFieldPagination() throws Exception {
         for (int i=0; i < 100; i++) {
@@ -210,6 +326,62 @@ public class AbstractMongoDaoTest {
         assertEquals("Bob 02", user2.getName());
     }
 
+    @Test
+    public void testIterateLazyByQuery() {
+        TestUser bob1 = dao.create(TestUser.builder().name("Bob 01").active(true)
+                .friends(ImmutableList.of(new ObjectId(), new ObjectId())).build());
+        TestUser bob2 = dao.create(TestUser.builder().name("Bob 02").active(true).build());
+        dao.create(TestUser.builder().name("Bob 03").active(false).build());
+
+        List<LazyModel<TestUser>> found = ImmutableList.copyOf(dao.iterateLazyByQuery(new Document("active", true), new Document("name", 1)));
+        assertEquals(2, found.size());
+        assertEquals(bob1.getId(), found.get(0).get("id", ObjectId.class));
+        assertEquals("Bob 01", found.get(0).get("name", String.class));
+        assertEquals(bob1.getFriends(), found.get(0).get("friends", new TypeReference<List<ObjectId>>() { }));
+        assertEquals(bob1, found.get(0).toModel());
+        assertEquals("Bob 02", found.get(1).get("name", String.class));
+        assertFalse(found.get(1).has("friends"));
+        assertNull(found.get(1).get("friends", new TypeReference<List<ObjectId>>() { }));
+        assertEquals(bob2, found.get(1).toModel());
+        try {
+            found.get(0).get("nope", String.class);
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unknown field: nope", e.getMessage());
+        }
+
+        assertEquals(1, dao.findLazyByQuery(new Document("active", false), null).getData().size());
+    }
+
+    @Test
+    public void testIterateByQueryWithFields() {
+        TestUser bob1 = dao.create(TestUser.builder().name("Bob 01").email("bob1@example.com").active(true).build());
+        TestUser bob2 = dao.create(TestUser.builder().name("Bob 02").email("bob2@example.com").active(true).build());
+        Set<String> fields = ImmutableSet.of("id", "name");
+
+        for (boolean useCodecs : new boolean[] { false, true }) {
+            dao.setUseCodecs(useCodecs);
+            List<TestUser> found = ImmutableList.copyOf(dao.iterateByQuery(new Document("active", true), new Document("name", 1), fields));
+            assertEquals(2, found.size());
+            assertEquals(bob1.getId(), found.get(0).getId());
+            assertEquals("Bob 01", found.get(0).getName());
+            assertNull(found.get(0).getEmail());
+            assertNull(found.get(0).getActive());
+            assertEquals(bob2.getId(), found.get(1).getId());
+            assertEquals("Bob 02", found.get(1).getName());
+        }
+
+        assertSame(dao.getProjection(fields), dao.getProjection(ImmutableList.of("name", "id")));
+        assertEquals(new Document("_id", 1).append("name", 1), dao.getProjection(fields));
+        assertEquals(2, dao.findByQuery(new Document("active", true), null, fields).getData().size());
+        try {
+            dao.iterateByQuery(new Document(), null, ImmutableList.of("nope"));
+            fail("Expected IllegalArgumentException");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Unknown field: nope", e.getMessage());
+        }
+    }
+
     @Test
     public void testExists() throws Exception {
         TestUser created = dao.create(TestUser.builder().name("Ian").build());
@@ -241,6 +413,73 @@ public class AbstractMongoDaoTest {
         assertEquals(now.toEpochMilli(), created.getCreateAt().toEpochMilli());
     }
 
+    @Test
+    public void testCreateAll() throws Exception {
+        Instant now = Instant.now();
+        ObjectId creatorId = new ObjectId();
+        List<WriteResult<TestUser>> results = dao.createAll(ImmutableList.of(
+                TestUser.builder().name("Ian").build(),
+                TestUser.builder().name("Bob").build()), now, creatorId);
+        assertEquals(2, results.size());
+        for (WriteResult<TestUser> result : results) {
+            assertTrue(result.isSuccess());
+            assertNotNull(result.getValue().getId());
+            assertEquals(creatorId, result.getValue().getCreateId());
+            assertEquals(now.toEpochMilli(), result.getValue().getCreateAt().toEpochMilli());
+            assertEquals(result.getValue(), dao.load(result.getValue().getId()));
+        }
+        assertEquals("Ian", results.get(0).getValue().getName());
+        assertEquals("Bob", results.get(1).getValue().getName());
+    }
+
+    @Test
+    public void testCreateAllPartialFailure() throws Exception {
+        TestUser existing = dao.create(TestUser.builder().name("Ian").build());
+        List<WriteResult<TestUser>> results = dao.createAll(ImmutableList.of(
+                TestUser.builder().name("Bob").build(),
+                TestUser.builder().id(existing.getId()).name("Duplicate").build(),
+                TestUser.builder().name("Jane").build()));
+        assertEquals(3, results.size());
+        assertFalse(results.get(1).isSuccess());
+        assertEquals(existing.getId(), results.get(1).getValue().getId());
+        assertTrue(results.get(1).getError().get().contains("duplicate key"));
+        assertEquals("Ian", dao.load(existing.getId()).getName());
+    }
+
+    @Test
+    public void testUpdateAll() throws Exception {
+        TestUser ian = dao.create(TestUser.builder().name("Ian").email("ian@example.com").build());
+        TestUser bob = dao.create(TestUser.builder().name("Bob").build());
+        ObjectId updateBy = new ObjectId();
+        Instant now = Instant.now();
+
+        Map<ObjectId,Update<TestUser>> updates = new LinkedHashMap<>();
+        updates.put(ian.getId(), Update.of(TestUser.builder().name("Ian 2").build(), ImmutableSet.of("name"), ImmutableSet.of("email")));
+        updates.put(bob.getId(), Update.of(TestUser.builder().name("Bob 2").build(), ImmutableSet.of("name")));
+        List<WriteResult<ObjectId>> results = dao.updateAll(updates, now, updateBy);
+        assertEquals(ImmutableList.of(WriteResult.success(ian.getId()), WriteResult.success(bob.getId())), results);
+
+        TestUser loadIan = dao.load(ian.getId());
+        assertEquals("Ian 2", loadIan.getName());
+        assertNull(loadIan.getEmail());
+        assertEquals(updateBy, loadIan.getUpdateId());
+        assertEquals(now.toEpochMilli(), loadIan.getUpdateAt().toEpochMilli());
+        assertEquals("Bob 2", dao.load(bob.getId()).getName());
+    }
+
+    @Test
+    public void testDeleteAll() throws Exception {
+        TestUser ian = dao.create(TestUser.builder().name("Ian").build());
+        TestUser bob = dao.create(TestUser.builder().name("Bob").build());
+        TestUser jane = dao.create(TestUser.builder().name("Jane").build());
+
+        List<WriteResult<ObjectId>> results = dao.deleteAll(ImmutableList.of(ian.getId(), bob.getId()));
+        assertEquals(ImmutableList.of(WriteResult.success(ian.getId()), WriteResult.success(bob.getId())), results);
+        assertFalse(dao.loadOpt(ian.getId()).isPresent());
+        assertFalse(dao.loadOpt(bob.getId()).isPresent());
+        assertTrue(dao.loadOpt(jane.getId()).isPresent());
+    }
+
     @Test
     public void testUpdate() throws Exception {
         TestUser created = dao.create(TestUser.builder().name("Ian").email("ian@example.com").build());
@@ -298,6 +537,36 @@ public class AbstractMongoDaoTest {
         assertEquals(expected, doc);
     }
 
+    @Test
+    public void testToUpdateDocumentOfUpdateOf() throws Exception {
+        ObjectId id = new ObjectId();
+        TestUser partial = TestUser.builder()
+                .id(id)
+                .name("Bob")
+                .loginAt(Instant.ofEpochMilli(1485116825000L))
+                .addresses(ImmutableList.of(TestAddress.builder().city("Boston").build()))
+                .build();
+        Update<TestUser> update = dao.updateOf(partial, ImmutableList.of("email"));
+        assertEquals(ImmutableSet.of("id", "name", "loginAt", "addresses"), update.getSetFields());
+
+        Document expected = new Document("$set", new Document("_id", id)
+                .append("name", "Bob")
+                .append("loginAt", Date.from(Instant.ofEpochMilli(1485116825000L)))
+                .append("addresses", ImmutableList.of(new Document("city", "Boston"))))
+                .append("$unset", new Document("email", 1));
+        assertEquals(expected, dao.toUpdateDocument(update, null, null));
+    }
+
+    @Test
+    public void testToUpdateDocumentWithStorageNames() throws Exception {
+        ObjectId id = new ObjectId();
+        TestUser partial = TestUser.builder().id(id).name("Bob").build();
+        Update<TestUser> update = Update.of(partial, ImmutableSet.of("_id", "name"));
+
+        Document expected = new Document("$set", new Document("_id", id).append("name", "Bob"));
+        assertEquals(expected, dao.toUpdateDocument(update, null, null));
+    }
+
     @Test
     public void testDelete() throws Exception {
         TestUser created = dao.create(TestUser.builder().name("Ian").build());
@@ -327,6 +596,31 @@ public class AbstractMongoDaoTest {
         assertEquals(1, count);
     }
 
+    @Test
+    public void testStreamAll() throws Exception {
+        for (int i=0; i < 1200; i++) {
+            dao.create(TestUser.builder().name("Bob " + i).active(i % 2 == 0).build());
+        }
+        try (Stream<TestUser> stream = dao.streamAll()) {
+            assertFalse(stream.isParallel());
+            assertEquals(1200, stream.map(TestUser::getId).distinct().count());
+        }
+    }
+
+    @Test
+    public void testStreamByQuery() throws Exception {
+        for (int i=0; i < 1200; i++) {
+            dao.create(TestUser.builder().name(String.format("Bob %04d", i)).active(i % 2 == 0).build());
+        }
+        List<String> names;
+        try (Stream<TestUser> stream = dao.streamByQuery(new Document("active", true), new Document("name", -1))) {
+            names = stream.parallel().map(TestUser::getName).collect(Collectors.toList());
+        }
+        assertEquals(600, names.size());
+        assertEquals("Bob 1198", names.get(0));
+        assertEquals("Bob 0000", names.get(599));
+    }
+
     @Test
     public void testInitTable() throws Exception {
         dao.initTable();
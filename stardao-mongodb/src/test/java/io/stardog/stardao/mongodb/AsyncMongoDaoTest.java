@@ -0,0 +1,133 @@
+package io.stardog.stardao.mongodb;
+
+import com.github.fakemongo.Fongo;
+import com.google.common.collect.ImmutableSet;
+import com.mongodb.async.SingleResultCallback;
+import com.mongodb.async.client.FindIterable;
+import com.mongodb.async.client.MongoCollection;
+import io.stardog.stardao.core.Update;
+import io.stardog.stardao.exceptions.DataNotFoundException;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AsyncMongoDaoTest {
+    private MongoCollection<Document> collection;
+    private FindIterable<Document> find;
+    private AsyncMongoDao<TestUser,TestUser,ObjectId,ObjectId> dao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() throws Exception {
+        Fongo fongo = new Fongo("fake-mongo");
+        TestUserDao syncDao = new TestUserDao(fongo.getMongo().getDatabase("test-mongo").getCollection("test-user"));
+        collection = mock(MongoCollection.class);
+        find = mock(FindIterable.class);
+        when(collection.find(any(Bson.class))).thenReturn(find);
+        when(find.limit(1)).thenReturn(find);
+        dao = new AsyncMongoDao<>(syncDao, collection);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void returnFirst(Document doc) {
+        doAnswer(inv -> {
+            ((SingleResultCallback<Document>) inv.getArgument(0)).onResult(doc, null);
+            return null;
+        }).when(find).first(any());
+    }
+
+    @Test
+    public void testLoadOpt() throws Exception {
+        ObjectId id = new ObjectId();
+        returnFirst(new Document("_id", id).append("name", "Ian"));
+
+        TestUser user = dao.loadOpt(id).get().get();
+        assertEquals(id, user.getId());
+        assertEquals("Ian", user.getName());
+        verify(collection).find(new Document("_id", id));
+    }
+
+    @Test
+    public void testLoadNotFound() throws Exception {
+        returnFirst(null);
+
+        assertFalse(dao.loadOpt(new ObjectId()).get().isPresent());
+        try {
+            dao.load(new ObjectId()).join();
+            fail("Expected DataNotFoundException");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof DataNotFoundException);
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCreate() throws Exception {
+        doAnswer(inv -> {
+            ((SingleResultCallback<Void>) inv.getArgument(1)).onResult(null, null);
+            return null;
+        }).when(collection).insertOne(any(Document.class), any());
+
+        Instant now = Instant.now();
+        ObjectId creatorId = new ObjectId();
+        TestUser created = dao.create(TestUser.builder().name("Ian").build(), now, creatorId).get();
+        assertNotNull(created.getId());
+        assertEquals(creatorId, created.getCreateId());
+        assertEquals(now.toEpochMilli(), created.getCreateAt().toEpochMilli());
+
+        ArgumentCaptor<Document> inserted = ArgumentCaptor.forClass(Document.class);
+        verify(collection).insertOne(inserted.capture(), any());
+        assertEquals(created.getId(), inserted.getValue().get("_id"));
+        assertEquals("Ian", inserted.getValue().get("name"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUpdateFailure() throws Exception {
+        RuntimeException failure = new RuntimeException("write failed");
+        doAnswer(inv -> {
+            ((SingleResultCallback<Object>) inv.getArgument(2)).onResult(null, failure);
+            return null;
+        }).when(collection).updateOne(any(Bson.class), any(Bson.class), any());
+
+        ObjectId id = new ObjectId();
+        Instant now = Instant.now();
+        Update<TestUser> update = Update.of(TestUser.builder().name("Bob").build(), ImmutableSet.of("name"));
+        try {
+            dao.update(id, update, now, null).join();
+            fail("Expected CompletionException");
+        } catch (CompletionException e) {
+            assertEquals(failure, e.getCause());
+        }
+        verify(collection).updateOne(eq(new Document("_id", id)),
+                eq(new Document("$set", new Document("name", "Bob").append("updateAt", Date.from(now)))), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDelete() throws Exception {
+        doAnswer(inv -> {
+            ((SingleResultCallback<Object>) inv.getArgument(1)).onResult(null, null);
+            return null;
+        }).when(collection).deleteOne(any(Bson.class), any());
+
+        ObjectId id = new ObjectId();
+        dao.delete(id).get();
+        verify(collection).deleteOne(eq(new Document("_id", id)), any());
+    }
+}
@@ -0,0 +1,110 @@
+package io.stardog.stardao.mongodb.export;
+
+import com.github.fakemongo.Fongo;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.BufferedReader;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class MongoExporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MongoCollection<Document> collection;
+
+    @Before
+    public void setUp() throws Exception {
+        Fongo fongo = new Fongo("fake-mongo");
+        collection = fongo.getMongo().getDatabase("test-mongo").getCollection("test-export");
+        for (int i = 0; i < 200; i++) {
+            collection.insertOne(new Document("_id", new ObjectId()).append("n", i));
+        }
+        // an id of a different type than the sampled boundaries must still be exported
+        collection.insertOne(new Document("_id", "odd").append("n", 200));
+    }
+
+    @Test
+    public void testExportParallel() throws Exception {
+        File dir = folder.newFolder();
+        List<ExportShard> shards = new MongoExporter().exportParallel(collection, dir, 4);
+        assertTrue(shards.size() > 1);
+
+        Set<Object> ids = new HashSet<>();
+        long total = 0;
+        for (ExportShard shard : shards) {
+            long count = 0;
+            File file = new File(dir, shard.getFileName());
+            assertEquals(file.length(), shard.getBytes());
+            assertEquals(Files.asByteSource(file).hash(Hashing.sha256()).toString(), shard.getSha256());
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new GZIPInputStream(new FileInputStream(file)), StandardCharsets.UTF_8))) {
+                for (String line; (line = reader.readLine()) != null; ) {
+                    ids.add(Document.parse(line).get("_id"));
+                    count++;
+                }
+            }
+            assertEquals(shard.getCount(), count);
+            total += count;
+        }
+        assertEquals(201, total);
+        assertEquals(201, ids.size());
+
+        Document manifest = Document.parse(Files.asCharSource(new File(dir, MongoExporter.MANIFEST_FILE_NAME), StandardCharsets.UTF_8).read());
+        assertEquals("test-export", manifest.getString("collection"));
+        assertEquals(201, ((Number)manifest.get("count")).longValue());
+        assertEquals(shards.size(), ((List<?>)manifest.get("shards")).size());
+    }
+
+    @Test
+    public void testExportParallelBson() throws Exception {
+        File dir = folder.newFolder();
+        List<ExportShard> shards = new MongoExporter().exportParallel(collection, dir, 3, MongoExporter.Format.BSON);
+
+        long total = 0;
+        for (ExportShard shard : shards) {
+            long count = 0;
+            try (InputStream in = new GZIPInputStream(new FileInputStream(new File(dir, shard.getFileName())))) {
+                DataInputStream data = new DataInputStream(in);
+                while (true) {
+                    byte[] header = new byte[4];
+                    try {
+                        data.readFully(header);
+                    } catch (EOFException e) {
+                        break;
+                    }
+                    int length = (header[0] & 0xff) | (header[1] & 0xff) << 8 | (header[2] & 0xff) << 16 | (header[3] & 0xff) << 24;
+                    byte[] bytes = new byte[length];
+                    System.arraycopy(header, 0, bytes, 0, 4);
+                    data.readFully(bytes, 4, length - 4);
+                    assertTrue(new RawBsonDocument(bytes).containsKey("n"));
+                    count++;
+                }
+            }
+            assertEquals(shard.getCount(), count);
+            total += count;
+        }
+        assertEquals(201, total);
+    }
+}
@@ -0,0 +1,117 @@
+package io.stardog.stardao.mongodb.export;
+
+import com.github.fakemongo.Fongo;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.MongoDatabase;
+import org.bson.Document;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class MongoImporterTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private MongoDatabase database;
+
+    @Before
+    public void setUp() throws Exception {
+        database = new Fongo("fake-mongo").getMongo().getDatabase("test-mongo");
+    }
+
+    @Test
+    public void testImportFromFile() throws Exception {
+        File file = folder.newFile("users.json");
+        Files.write(file.toPath(), ("{\"_id\":1,\"name\":\"Ian\"}\n\n{\"_id\":2,\"name\":\"Bob\"}\r\n{\"_id\":3,\"name\":\"Al\"}").getBytes(StandardCharsets.UTF_8));
+        MongoCollection<Document> collection = database.getCollection("import-json");
+        collection.insertOne(new Document("_id", 1).append("email", "ian@example.com"));
+
+        MongoImporter importer = new MongoImporter();
+        importer.setBatchSize(2);
+        assertEquals(3, importer.importFromFile(collection, file, null));
+        assertEquals(3, collection.count());
+        // the default mode merges fields into existing documents
+        Document ian = collection.find(new Document("_id", 1)).first();
+        assertEquals("Ian", ian.getString("name"));
+        assertEquals("ian@example.com", ian.getString("email"));
+
+        importer.setMode(MongoImporter.Mode.REPLACE);
+        importer.importFromFile(collection, file);
+        assertFalse(collection.find(new Document("_id", 1)).first().containsKey("email"));
+    }
+
+    @Test
+    public void testImportRepeatedIdLastWins() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            sb.append(new Document("_id", i % 2).append("n", i).toJson()).append('\n');
+        }
+        File file = folder.newFile("repeated.json");
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        MongoCollection<Document> collection = database.getCollection("import-repeated");
+
+        MongoImporter importer = new MongoImporter();
+        importer.setBatchSize(3);
+        importer.importFromFile(collection, file);
+        assertEquals(18, collection.find(new Document("_id", 0)).first().getInteger("n").intValue());
+        assertEquals(19, collection.find(new Document("_id", 1)).first().getInteger("n").intValue());
+    }
+
+    @Test
+    public void testImportExportedShards() throws Exception {
+        MongoCollection<Document> source = database.getCollection("export-source");
+        for (int i = 0; i < 100; i++) {
+            source.insertOne(new Document("n", i));
+        }
+        for (MongoExporter.Format format : MongoExporter.Format.values()) {
+            File dir = folder.newFolder();
+            MongoCollection<Document> target = database.getCollection("import-" + format);
+            MongoImporter importer = new MongoImporter();
+            importer.setBatchSize(7);
+            for (ExportShard shard : new MongoExporter().exportParallel(source, dir, 3, format)) {
+                importer.importFromFile(target, new File(dir, shard.getFileName()));
+            }
+            assertEquals(100, target.count());
+        }
+    }
+
+    @Test
+    public void testResumeFromCheckpoint() throws Exception {
+        File file = folder.newFile("users.json");
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10; i++) {
+            sb.append(new Document("_id", i).toJson()).append('\n');
+        }
+        Files.write(file.toPath(), sb.toString().getBytes(StandardCharsets.UTF_8));
+        long fourLines = 0;
+        String[] lines = sb.toString().split("\n");
+        for (int i = 0; i < 4; i++) {
+            fourLines += lines[i].length() + 1;
+        }
+
+        File checkpoint = folder.newFile("users.checkpoint");
+        Files.write(checkpoint.toPath(), Long.toString(fourLines).getBytes(StandardCharsets.UTF_8));
+        MongoCollection<Document> collection = database.getCollection("import-resume");
+        MongoImporter importer = new MongoImporter();
+        importer.setBatchSize(3);
+        List<Long> offsets = new ArrayList<>();
+        importer.setProgressListener((documents, offset) -> offsets.add(offset));
+
+        assertEquals(6, importer.importFromFile(collection, file, checkpoint));
+        assertEquals(6, collection.count());
+        assertEquals(0, collection.count(new Document("_id", 0)));
+        assertFalse(checkpoint.exists());
+        assertTrue(offsets.contains(file.length()));
+    }
+}
@@ -0,0 +1,131 @@
+package io.stardog.stardao.mongodb.mapper;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import com.mongodb.MongoClient;
+import io.stardog.stardao.core.field.Field;
+import io.stardog.stardao.core.field.FieldData;
+import io.stardog.stardao.mongodb.TestAddress;
+import io.stardog.stardao.mongodb.TestUser;
+import io.stardog.stardao.mongodb.mapper.jackson.JacksonCodec;
+import io.stardog.stardao.mongodb.mapper.jackson.JacksonDocumentMapper;
+import org.bson.BsonDocument;
+import org.bson.BsonDocumentReader;
+import org.bson.BsonDocumentWriter;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.Codec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.codecs.configuration.CodecRegistry;
+import org.bson.types.ObjectId;
+import org.geojson.Point;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class JacksonCodecTest {
+    private CodecRegistry registry;
+    private JacksonDocumentMapper<TestUser> mapper;
+    private Codec<TestUser> codec;
+
+    @Before
+    public void setUp() throws Exception {
+        Map<String,Field> fields = ImmutableMap.of(
+                "id", Field.builder().name("id").storageName("_id").optional(false).creatable(false).updatable(false).build());
+        FieldData fieldData = FieldData.builder().map(fields).build();
+        registry = MongoClient.getDefaultCodecRegistry();
+        mapper = new JacksonDocumentMapper<>(TestUser.class, fieldData);
+        codec = mapper.toCodec(registry);
+    }
+
+    private BsonDocument encode(TestUser user) {
+        BsonDocument bson = new BsonDocument();
+        codec.encode(new BsonDocumentWriter(bson), user, EncoderContext.builder().build());
+        return bson;
+    }
+
+    private TestUser decode(BsonDocument bson) {
+        return codec.decode(new BsonDocumentReader(bson), DecoderContext.builder().build());
+    }
+
+    @Test
+    public void testEncodeMatchesDocumentMapper() throws Exception {
+        TestUser user = TestUser.builder()
+                .id(new ObjectId())
+                .categoryId(new ObjectId())
+                .name("Ian White")
+                .email("ian@example.com")
+                .birthday(LocalDate.of(1980, 5, 12))
+                .count(5)
+                .active(true)
+                .loginAt(Instant.ofEpochMilli(1485116825000L))
+                .uuid(UUID.randomUUID())
+                .type(TestUser.Type.ADMIN)
+                .friends(ImmutableList.of(new ObjectId(), new ObjectId()))
+                .addresses(ImmutableList.of(TestAddress.builder().city("Boston").state("MA").build()))
+                .addressesByRegion(ImmutableMap.of("east", TestAddress.builder().city("New York").build()))
+                .location(new Point(-73.9857, 40.7484))
+                .balance(new BigDecimal("1234567.89"))
+                .build();
+
+        BsonDocument expected = mapper.toDocument(user).toBsonDocument(Document.class, registry);
+        BsonDocument bson = encode(user);
+        assertEquals(expected, bson);
+        assertEquals(user.getId(), bson.getObjectId("_id").getValue());
+
+        assertEquals(user, decode(bson));
+    }
+
+    @Test
+    public void testDecode() throws Exception {
+        ObjectId id = new ObjectId();
+        UUID uuid = UUID.randomUUID();
+        Document doc = new Document("_id", id)
+                .append("name", "Ian White")
+                .append("birthday", "1980-05-12")
+                .append("count", 5)
+                .append("loginAt", new Date(1485116825000L))
+                .append("uuid", uuid)
+                .append("unknown", new Document("nested", ImmutableList.of(1, 2L, 3.5)));
+
+        TestUser user = decode(doc.toBsonDocument(Document.class, registry));
+        assertEquals(mapper.toObject(doc), user);
+        assertEquals(id, user.getId());
+        assertEquals(uuid, user.getUuid());
+        assertEquals(LocalDate.of(1980, 5, 12), user.getBirthday());
+        assertEquals(1485116825000L, user.getLoginAt().toEpochMilli());
+    }
+
+    @Test
+    public void testDecodeField() throws Exception {
+        ObjectId id = new ObjectId();
+        List<ObjectId> friends = ImmutableList.of(new ObjectId(), new ObjectId());
+        TestUser user = TestUser.builder()
+                .id(id)
+                .name("Ian White")
+                .loginAt(Instant.ofEpochMilli(1485116825000L))
+                .friends(friends)
+                .build();
+        RawBsonDocument raw = new RawBsonDocument(encode(user), registry.get(BsonDocument.class));
+        JacksonCodec<TestUser> jacksonCodec = mapper.toCodec(registry);
+        TypeFactory types = jacksonCodec.getObjectMapper().getTypeFactory();
+
+        assertEquals(id, jacksonCodec.decodeField(raw, "_id", types.constructType(ObjectId.class)));
+        assertEquals("Ian White", jacksonCodec.decodeField(raw, "name", types.constructType(String.class)));
+        assertEquals(Instant.ofEpochMilli(1485116825000L), jacksonCodec.decodeField(raw, "loginAt", types.constructType(Instant.class)));
+        assertEquals(friends, jacksonCodec.decodeField(raw, "friends", types.constructCollectionType(List.class, ObjectId.class)));
+        assertNull(jacksonCodec.decodeField(raw, "email", types.constructType(String.class)));
+    }
+}
@@ -2,6 +2,7 @@ package io.stardog.stardao.mongodb.mapper;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import io.stardog.stardao.mongodb.TestAddress;
 import io.stardog.stardao.mongodb.TestUser;
 import io.stardog.stardao.core.field.Field;
@@ -148,4 +149,31 @@ public class JacksonDocumentMapperTest {
         TestUser convertUser = mapper.toObject(convert);
         assertEquals(uuid, convertUser.getUuid());
     }
+
+    @Test
+    public void testToDocumentWithFields() throws Exception {
+        TestUser user = TestUser.builder()
+                .id(new ObjectId())
+                .name("Ian White")
+                .birthday(LocalDate.of(1980, 5, 12))
+                .loginAt(Instant.ofEpochMilli(1485116825000L))
+                .uuid(UUID.randomUUID())
+                .friends(ImmutableList.of(new ObjectId()))
+                .addresses(ImmutableList.of(TestAddress.builder().city("Boston").state("MA").build()))
+                .balance(new BigDecimal("1234567.89"))
+                .build();
+        Document full = mapper.toDocument(user);
+
+        Document partial = mapper.toDocument(user, ImmutableList.of("id", "loginAt", "uuid", "friends", "addresses", "balance", "email"));
+        Document expected = new Document("_id", full.get("_id"))
+                .append("loginAt", full.get("loginAt"))
+                .append("uuid", full.get("uuid"))
+                .append("friends", full.get("friends"))
+                .append("addresses", full.get("addresses"))
+                .append("balance", full.get("balance"));
+        assertEquals(expected, partial);
+
+        assertEquals(ImmutableSet.of("id", "name", "birthday", "loginAt", "uuid", "friends", "addresses", "balance"),
+                mapper.toFieldNames(user));
+    }
 }